@@ -0,0 +1,60 @@
+// CsvProjectRepositoryTest.java
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CsvProjectRepositoryTest {
+    @TempDir
+    Path dir;
+
+    private UserRepository users;
+
+    @BeforeEach
+    void writeData() throws IOException {
+        Files.writeString(dir.resolve("users.csv"),
+            "nric,password,age,maritalStatus,role\n"
+            + "T7654321B,password,40,Married,Applicant\n"
+            + "T8765432F,password,36,Single,Manager\n"
+            + "T2109876H,password,36,Single,Officer\n");
+        Files.writeString(dir.resolve("projects.csv"),
+            "projectID,projectName,neighborhood,twoRoomUnits,threeRoomUnits,"
+            + "openingDate,closingDate,managerNRIC,officerSlots,visible\n"
+            + "P1,Acacia,Yishun,10,10,2026-01-01,2026-12-31,T8765432F,2,true\n");
+        Files.createDirectories(dir.resolve("projects-data"));
+        Files.writeString(dir.resolve("projects-data/P1.csv"),
+            "APP,P1,APP-3,T7654321B,Three_Room,2026-10-01,PENDING,false\n"
+            + "REG,P1,7,T2109876H,Approved\n");
+        users = new CsvUserRepository(dir.resolve("users.csv").toString());
+    }
+
+    @Test
+    void savingUnchangedLoadedProjectWritesNothing() {
+        CsvProjectRepository repo = new CsvProjectRepository(dir.resolve("projects.csv").toString(), users);
+        Project p = repo.findById("P1");
+        assertEquals(1, p.getApplications().size());
+        assertTrue(p.isChildrenLoaded());
+
+        assertTrue(repo.saveAll(repo.findAll()));
+        assertFalse(Files.exists(dir.resolve("projects.csv.log")));
+    }
+
+    @Test
+    void savingLogsOnlyTheChangedRecord() throws IOException {
+        CsvProjectRepository repo = new CsvProjectRepository(dir.resolve("projects.csv").toString(), users);
+        repo.findById("P1").findApplication("APP-3").reject();
+
+        assertTrue(repo.saveAll(repo.findAll()));
+        assertEquals(
+            "APP,P1,APP-3,T7654321B,Three_Room,2026-10-01,UNSUCCESSFUL,false\nCOMMIT\n",
+            Files.readString(dir.resolve("projects.csv.log")));
+    }
+}
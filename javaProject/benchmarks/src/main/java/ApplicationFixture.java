@@ -0,0 +1,82 @@
+// ApplicationFixture.java
+
+import benchmarks.ApplicationBenchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiPredicate;
+
+/** Backs {@link ApplicationBenchmark}: one manager over many projects and applications. */
+public class ApplicationFixture implements ApplicationBenchmark.Workload {
+    private HDBManager manager;
+    private List<Project> projects;
+    private List<Application> applications;
+    private String[] ids;
+    private Report report;
+    private Filter filter;
+    private BiPredicate<Applicant, Project> compiledFilter;
+    private File lastReport;
+
+    @Override
+    public void setUp(int count) {
+        projects = new ArrayList<>();
+        manager = SyntheticData.manager(projects);
+        projects.addAll(SyntheticData.projects(SyntheticData.projectCount(count), manager));
+        applications = SyntheticData.applications(SyntheticData.applicants(count), projects);
+
+        ids = new String[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = applications.get(i).getApplicationID();
+        }
+
+        filter = new Filter();
+        filter.setMaritalStatus("MARRIED");
+        filter.setFlatType("Three-Room");
+        filter.setMinAge(35);
+        filter.setProjectName("project 7");
+
+        compiledFilter = filter.compile(projects);
+
+        report = new Report();
+        report.setFilters(filter);
+    }
+
+    @Override
+    public Object findApplication(int i) {
+        return manager.findApplication(ids[Math.floorMod(i, ids.length)]);
+    }
+
+    @Override
+    public Object generateReport() throws IOException {
+        lastReport = report.generateReport(applications);
+        return lastReport;
+    }
+
+    @Override
+    public Object generateReportForProjects() throws IOException {
+        lastReport = report.generateReportForProjects(projects);
+        return lastReport;
+    }
+
+    @Override
+    public boolean filterMatches(int i) {
+        Application app = applications.get(Math.floorMod(i, applications.size()));
+        return filter.matches(app.getApplicant(), app.getProject());
+    }
+
+    @Override
+    public boolean compiledFilterMatches(int i) {
+        Application app = applications.get(Math.floorMod(i, applications.size()));
+        return compiledFilter.test(app.getApplicant(), app.getProject());
+    }
+
+    @Override
+    public void tearDown() throws IOException {
+        if (lastReport != null) {
+            Files.deleteIfExists(lastReport.toPath());
+        }
+    }
+}
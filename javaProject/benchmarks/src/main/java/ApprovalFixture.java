@@ -0,0 +1,91 @@
+// ApprovalFixture.java
+
+import benchmarks.ApprovalBenchmark;
+
+import enums.ApplicationStatus;
+import enums.ApprovalOutcome;
+import enums.FlatType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Backs {@link ApprovalBenchmark}: every application targets the same
+ * project, so all threads race on its two unit counters.
+ */
+public class ApprovalFixture implements ApprovalBenchmark.Workload {
+    private static final int STOCK = 1_000_000_000;
+
+    private final AtomicInteger threads = new AtomicInteger();
+    private final ThreadLocal<int[]> cursor = ThreadLocal.withInitial(this::claimSlice);
+
+    private final BatchApprovalEngine engine = new BatchApprovalEngine();
+
+    private Project project;
+    private Application[] applications;
+
+    @Override
+    public void setUp(int count) {
+        List<Project> projects = new ArrayList<>();
+        HDBManager manager = SyntheticData.manager(projects);
+        projects.addAll(SyntheticData.projects(1, manager));
+        project = projects.get(0);
+
+        applications = SyntheticData.applications(SyntheticData.applicants(count), projects)
+            .toArray(new Application[0]);
+        for (Application app : applications) {
+            app.revertToPending();
+        }
+    }
+
+    @Override
+    public void refill() {
+        project.restoreUnits(FlatType.Two_Room, STOCK, 0);
+        project.restoreUnits(FlatType.Three_Room, STOCK, 0);
+    }
+
+    @Override
+    public boolean approveNext() {
+        int[] c = cursor.get();          // {start, length, offset}
+        Application app = applications[c[0] + c[2]];
+        c[2] = c[2] + 1 == c[1] ? 0 : c[2] + 1;
+
+        app.approve();
+        boolean granted = app.getStatus() == ApplicationStatus.SUCCESSFUL;
+        app.revertToPending();
+        return granted;
+    }
+
+    @Override
+    public int approveBatch(int size) {
+        int[] c = cursor.get();          // {start, length, offset}
+        List<Application> batch = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            batch.add(applications[c[0] + c[2]]);
+            c[2] = c[2] + 1 == c[1] ? 0 : c[2] + 1;
+        }
+
+        int granted = 0;
+        for (ApprovalOutcome outcome : engine.approve(batch).values()) {
+            if (outcome == ApprovalOutcome.SUCCESSFUL) {
+                granted++;
+            }
+        }
+        for (Application app : batch) {
+            app.revertToPending();
+        }
+        return granted;
+    }
+
+    /**
+     * Give each benchmark thread its own stripe of applications so no two
+     * threads ever approve the same one; they only share the project.
+     */
+    private int[] claimSlice() {
+        int stripes = 64;
+        int t = threads.getAndIncrement() % stripes;
+        int length = Math.max(1, applications.length / stripes);
+        return new int[] { Math.min(t * length, applications.length - length), length, 0 };
+    }
+}
@@ -0,0 +1,40 @@
+// LoginFixture.java
+
+import benchmarks.LoginBenchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+
+/** Backs {@link LoginBenchmark}: a CSV user repository behind a LoginHandler. */
+public class LoginFixture implements LoginBenchmark.Workload {
+    private LoginHandler login;
+    private String[] nrics;
+
+    @Override
+    public void setUp(int users, boolean cached) {
+        CredentialStore credentials = cached
+            ? new CachingCredentialStore(new Pbkdf2CredentialStore(), Duration.ofHours(1), users + 1)
+            : new Pbkdf2CredentialStore();
+        try {
+            Path file = Files.createTempFile("bench-users", ".csv");
+            file.toFile().deleteOnExit();
+            new UserFileHandler(file.toString()).writeUserData(new ArrayList<>(SyntheticData.applicants(users)));
+            login = new LoginHandler(new CsvUserRepository(file.toString()), credentials);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        nrics = new String[users];
+        for (int i = 0; i < users; i++) {
+            nrics[i] = SyntheticData.nric(i);
+        }
+    }
+
+    @Override
+    public Object authenticate(int i) {
+        return login.authenticate(nrics[Math.floorMod(i, nrics.length)], SyntheticData.PASSWORD);
+    }
+}
@@ -0,0 +1,44 @@
+// RateLimiterFixture.java
+
+import benchmarks.RateLimiterBenchmark;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Backs {@link RateLimiterBenchmark}: keys are pre-built strings so the
+ * benchmark measures the buckets, not string formatting.
+ */
+public class RateLimiterFixture implements RateLimiterBenchmark.Workload {
+    private LoginRateLimiter limiter;
+    private String[] sources;
+    private String[] nrics;
+
+    @Override
+    public void setUp(int keys, boolean tight) {
+        limiter = tight
+            ? new LoginRateLimiter(1, Duration.ofHours(1), 1, Duration.ofHours(1))
+            : new LoginRateLimiter(Integer.MAX_VALUE, Duration.ofNanos(1), Integer.MAX_VALUE, Duration.ofNanos(1));
+        sources = new String[keys];
+        nrics   = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            sources[i] = "10." + (i >>> 16 & 0xFF) + "." + (i >>> 8 & 0xFF) + "." + (i & 0xFF);
+            nrics[i]   = SyntheticData.nric(i);
+        }
+    }
+
+    @Override
+    public boolean attempt() {
+        return limiter.tryAcquireSource(sources[ThreadLocalRandom.current().nextInt(sources.length)]);
+    }
+
+    @Override
+    public boolean failure() {
+        String nric = nrics[ThreadLocalRandom.current().nextInt(nrics.length)];
+        if (limiter.isNricBlocked(nric)) {
+            return true;
+        }
+        limiter.recordNricFailure(nric);
+        return false;
+    }
+}
@@ -0,0 +1,116 @@
+// SyntheticData.java
+
+import enums.ApplicationStatus;
+import enums.FlatType;
+import enums.MaritalStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic datasets for the benchmarks.  The same size and seed
+ * always produce the same users, projects and applications, so results
+ * are comparable from release to release.
+ */
+final class SyntheticData {
+    static final String PASSWORD = "password";
+
+    /**
+     * One stored credential for {@link #PASSWORD}, shared by every synthetic
+     * user: hashing millions of users individually would dominate setup.
+     */
+    static final String PASSWORD_HASH = new Pbkdf2CredentialStore().hash(PASSWORD);
+    static final long SEED = 2002L;
+
+    /** Applications per project when spreading a dataset over projects. */
+    static final int APPLICATIONS_PER_PROJECT = 1000;
+
+    private SyntheticData() {
+    }
+
+    /** @return a valid NRIC unique to {@code i} for i below 10 million. */
+    static String nric(int i) {
+        char[] c = new char[9];
+        c[0] = (i & 1) == 0 ? 'S' : 'T';
+        int v = i;
+        for (int k = 7; k >= 1; k--) {
+            c[k] = (char) ('0' + v % 10);
+            v /= 10;
+        }
+        c[8] = (char) ('A' + i % 26);
+        return new String(c);
+    }
+
+    static List<Applicant> applicants(int count) {
+        SplittableRandom rnd = new SplittableRandom(SEED);
+        List<Applicant> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            list.add(new Applicant(nric(i), PASSWORD_HASH, 21 + rnd.nextInt(50),
+                rnd.nextBoolean() ? MaritalStatus.MARRIED : MaritalStatus.SINGLE));
+        }
+        return list;
+    }
+
+    /** @return a manager whose own project list is {@code projects}. */
+    static HDBManager manager(List<Project> projects) {
+        return new HDBManager("S0000000Z", PASSWORD_HASH, 45, MaritalStatus.MARRIED,
+            projects, new ArrayList<>());
+    }
+
+    static List<Project> projects(int count, HDBManager manager) {
+        LocalDate open = LocalDate.now().minusDays(30);
+        LocalDate close = LocalDate.now().plusDays(30);
+        List<Project> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            list.add(new Project("P" + i, "Project " + i, "Town " + (i % 25),
+                500, 500, open, close, manager, 10));
+        }
+        return list;
+    }
+
+    /**
+     * One application per applicant, spread round-robin over the projects
+     * and attached the way the project repository does it: through the
+     * lazy child loader, publishing applicationLoaded for each.
+     */
+    static List<Application> applications(List<Applicant> applicants, List<Project> projects) {
+        SplittableRandom rnd = new SplittableRandom(SEED + 1);
+        ApplicationStatus[] statuses = ApplicationStatus.values();
+        LocalDate date = LocalDate.now().minusDays(7);
+
+        List<List<Application>> byProject = new ArrayList<>(projects.size());
+        for (int p = 0; p < projects.size(); p++) {
+            byProject.add(new ArrayList<>());
+        }
+        List<Application> all = new ArrayList<>(applicants.size());
+        for (int i = 0; i < applicants.size(); i++) {
+            Applicant applicant = applicants.get(i);
+            int p = i % projects.size();
+            Application app = new Application("APP-" + i, applicant, projects.get(p),
+                rnd.nextBoolean() ? FlatType.Two_Room : FlatType.Three_Room,
+                date, statuses[rnd.nextInt(statuses.length)], false);
+            applicant.restoreApplication(app);
+            byProject.get(p).add(app);
+            all.add(app);
+        }
+
+        for (int p = 0; p < projects.size(); p++) {
+            Project project = projects.get(p);
+            List<Application> apps = byProject.get(p);
+            project.setChildLoader(() -> {
+                for (Application app : apps) {
+                    project.addApplication(app);
+                    DomainEvents.applicationLoaded(app);
+                }
+            });
+            project.getApplications();
+        }
+        return all;
+    }
+
+    static int projectCount(int applications) {
+        return Math.max(1, applications / APPLICATIONS_PER_PROJECT);
+    }
+}
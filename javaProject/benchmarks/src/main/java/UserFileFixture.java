@@ -0,0 +1,49 @@
+// UserFileFixture.java
+
+import benchmarks.UserFileBenchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Backs {@link UserFileBenchmark}: one users CSV to read and one to overwrite. */
+public class UserFileFixture implements UserFileBenchmark.Workload {
+    private Path readFile;
+    private Path writeFile;
+    private UserFileHandler reader;
+    private UserFileHandler writer;
+    private List<User> users;
+
+    @Override
+    public void setUp(int count) throws IOException {
+        users     = new ArrayList<>(SyntheticData.applicants(count));
+        readFile  = Files.createTempFile("bench-users-read", ".csv");
+        writeFile = Files.createTempFile("bench-users-write", ".csv");
+        reader    = new UserFileHandler(readFile.toString());
+        writer    = new UserFileHandler(writeFile.toString());
+        reader.writeUserData(users);
+    }
+
+    @Override
+    public Object readUserData() {
+        return reader.readUserData();
+    }
+
+    @Override
+    public Object readUserDataParallel() {
+        return reader.readUserDataParallel();
+    }
+
+    @Override
+    public void writeUserData() {
+        writer.writeUserData(users);
+    }
+
+    @Override
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(readFile);
+        Files.deleteIfExists(writeFile);
+    }
+}
@@ -0,0 +1,102 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Manager-side reads over {@code applications} synthetic applications:
+ * lookup by ID, the booking report, and a single {@code Filter.matches}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApplicationBenchmark {
+
+    /** Implemented by {@code ApplicationFixture}. */
+    public interface Workload {
+        void setUp(int applications) throws IOException;
+
+        /** {@code HDBManager.findApplication} for application {@code i}. */
+        Object findApplication(int i);
+
+        /** {@code Report.generateReport} over every application, filtered. */
+        Object generateReport() throws IOException;
+
+        /** {@code Report.generateReportForProjects}: the same report, sharded by project. */
+        Object generateReportForProjects() throws IOException;
+
+        /** {@code Filter.matches} for the applicant and project of application {@code i}. */
+        boolean filterMatches(int i);
+
+        /** The same check through the predicate from {@code Filter.compile(projects)}. */
+        boolean compiledFilterMatches(int i);
+
+        void tearDown() throws IOException;
+    }
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int applications;
+
+    private Workload workload;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        workload = Fixtures.create("ApplicationFixture", Workload.class);
+        workload.setUp(applications);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        workload.tearDown();
+    }
+
+    @Benchmark
+    public Object findApplication() {
+        return workload.findApplication(next++);
+    }
+
+    @Benchmark
+    public boolean filterMatches() {
+        return workload.filterMatches(next++);
+    }
+
+    @Benchmark
+    public boolean compiledFilterMatches() {
+        return workload.compiledFilterMatches(next++);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public Object generateReport() throws IOException {
+        return workload.generateReport();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public Object generateReportForProjects() throws IOException {
+        return workload.generateReportForProjects();
+    }
+}
@@ -0,0 +1,82 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code Application.approve} from several threads, all competing for the
+ * unit counters of a single project, and the same through
+ * {@code BatchApprovalEngine} in batches of {@link #BATCH}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class ApprovalBenchmark {
+
+    /** Implemented by {@code ApprovalFixture}. */
+    public interface Workload {
+        void setUp(int applications);
+
+        /** Refill the project's units so each iteration starts from the same stock. */
+        void refill();
+
+        /**
+         * Approve the next pending application, then put it back to PENDING
+         * so it can be approved again.  @return true if a unit was granted.
+         */
+        boolean approveNext();
+
+        /**
+         * Approve the next {@code size} applications in one batch, then put
+         * them back to PENDING.  @return the number granted a unit.
+         */
+        int approveBatch(int size);
+    }
+
+    static final int BATCH = 1000;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int applications;
+
+    private Workload workload;
+
+    @Setup
+    public void setUp() {
+        workload = Fixtures.create("ApprovalFixture", Workload.class);
+        workload.setUp(applications);
+    }
+
+    @Setup(Level.Iteration)
+    public void refill() {
+        workload.refill();
+    }
+
+    @Benchmark
+    public boolean approve() {
+        return workload.approveNext();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int approveBatch() {
+        return workload.approveBatch(BATCH);
+    }
+}
@@ -0,0 +1,57 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code LoginHandler.authenticate} against a user repository of
+ * {@code users} rows, with every login paying the PBKDF2 cost ("cold")
+ * or answered from the verification cache after the first ("cached").
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginBenchmark {
+
+    /** Implemented by {@code LoginFixture}. */
+    public interface Workload {
+        void setUp(int users, boolean cached);
+
+        /** Log in as user {@code i} (taken modulo the dataset size). */
+        Object authenticate(int i);
+    }
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int users;
+
+    @Param({"cached", "cold"})
+    public String verification;
+
+    private Workload workload;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        workload = Fixtures.create("LoginFixture", Workload.class);
+        workload.setUp(users, verification.equals("cached"));
+    }
+
+    @Benchmark
+    public Object authenticate() {
+        return workload.authenticate(next++);
+    }
+}
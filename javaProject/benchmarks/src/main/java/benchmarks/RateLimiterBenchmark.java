@@ -0,0 +1,67 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code LoginRateLimiter} from several threads spread over a number of
+ * source addresses and NRICs; with one key every thread hits one bucket.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class RateLimiterBenchmark {
+
+    /** Implemented by {@code RateLimiterFixture}. */
+    public interface Workload {
+        /** @param tight true for limits that refuse most attempts */
+        void setUp(int keys, boolean tight);
+
+        /** One attempt from a random source.  @return true if allowed. */
+        boolean attempt();
+
+        /** Check and charge one failed login to a random NRIC.  @return true if it was blocked. */
+        boolean failure();
+    }
+
+    @Param({"1", "1000", "100000", "1000000"})
+    public int keys;
+
+    /** "open" limits take the granting path, "tight" the refusing one. */
+    @Param({"open", "tight"})
+    public String limits;
+
+    private Workload workload;
+
+    @Setup
+    public void setUp() {
+        workload = Fixtures.create("RateLimiterFixture", Workload.class);
+        workload.setUp(keys, limits.equals("tight"));
+    }
+
+    @Benchmark
+    public boolean attempt() {
+        return workload.attempt();
+    }
+
+    @Benchmark
+    public boolean failure() {
+        return workload.failure();
+    }
+}
@@ -0,0 +1,72 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/** Reading and writing the users CSV with {@code UserFileHandler}. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class UserFileBenchmark {
+
+    /** Implemented by {@code UserFileFixture}. */
+    public interface Workload {
+        /** Write {@code users} synthetic rows to a fresh temporary file. */
+        void setUp(int users) throws IOException;
+
+        Object readUserData();
+
+        Object readUserDataParallel();
+
+        void writeUserData();
+
+        void tearDown() throws IOException;
+    }
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int users;
+
+    private Workload workload;
+
+    @Setup
+    public void setUp() throws IOException {
+        workload = Fixtures.create("UserFileFixture", Workload.class);
+        workload.setUp(users);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        workload.tearDown();
+    }
+
+    @Benchmark
+    public Object readUserData() {
+        return workload.readUserData();
+    }
+
+    @Benchmark
+    public Object readUserDataParallel() {
+        return workload.readUserDataParallel();
+    }
+
+    @Benchmark
+    public void writeUserData() {
+        workload.writeUserData();
+    }
+}
@@ -1,15 +1,15 @@
 import enums.FlatType;
+import enums.IdSequence;
 import enums.MaritalStatus;
 
 import java.util.List;
-import java.util.UUID;
 
 /**
  * Represents an Applicant in the BTO system.
  * Pure domain logic—no I/O here.
  */
 public class Applicant extends User {
-    private Application application;  // at most one active application
+    private volatile Application application;  // at most one active application
 
     public Applicant(String nric,
                      String password,
@@ -28,38 +28,36 @@ public class Applicant extends User {
      *  - Project must be visible and within application period.
      *  - SINGLE ≥ 35 may only apply for Two_Room.
      *  - MARRIED ≥ 21 may apply for Two_Room or Three_Room.
+     * @see EligibilityEngine
      */
     public boolean isEligible(Project project, FlatType flatType) {
-        if (!project.isVisible() || !project.isWithinApplicationPeriod()) {
-            return false;
-        }
-        if (getMaritalStatus() == MaritalStatus.SINGLE) {
-            return getAge() >= 35 && flatType == FlatType.Two_Room;
-        } else { // MARRIED
-            return getAge() >= 21
-                && (flatType == FlatType.Two_Room
-                 || flatType == FlatType.Three_Room);
-        }
+        return EligibilityEngine.shared().isEligible(this, project, flatType);
     }
 
     /**
      * Applies for the given project with the chosen flat type.
      * @throws IllegalStateException if already applied or not eligible.
      */
-    public Application apply(Project project, FlatType flatType) {
+    public synchronized Application apply(Project project, FlatType flatType) {
         if (application != null) {
             throw new IllegalStateException("Already applied for a project");
         }
         if (!isEligible(project, flatType)) {
             throw new IllegalStateException("Not eligible for this project/flat type");
         }
-        String appId = "APP-" + UUID.randomUUID();
+        String appId = Application.ID_PREFIX + IdAllocator.shared().next(IdSequence.APPLICATION);
         Application app = new Application(appId, this, project, flatType);
         project.addApplication(app);
         this.application = app;
+        DomainEvents.applicationSubmitted(app);
         return app;
     }
 
+    /** Re-link a persisted application when projects are loaded from storage. */
+    void restoreApplication(Application application) {
+        this.application = application;
+    }
+
     /**
      * Requests withdrawal of the current application.
      * @return true if the request was registered; false otherwise.
@@ -1,5 +1,6 @@
 import enums.ApplicationStatus;
 import enums.FlatType;
+import enums.IdSequence;
 
 import java.time.LocalDate;
 import java.util.Objects;
@@ -9,14 +10,17 @@ import java.util.UUID;
  * Represents an Applicant’s BTO application.
  */
 public class Application {
+    /** Prefix of allocated IDs, "APP-<n>"; older data may hold UUIDs instead. */
+    static final String ID_PREFIX = "APP-";
+
     private final String applicationID;
     private final Applicant applicant;
     private final Project project;
     private final LocalDate applicationDate;
 
-    private ApplicationStatus status;
+    private volatile ApplicationStatus status;
     private final FlatType flatTypeChosen;
-    private boolean withdrawalRequested;
+    private volatile boolean withdrawalRequested;
 
     public Application(String applicationID,
                        Applicant applicant,
@@ -31,59 +35,148 @@ public class Application {
         this.withdrawalRequested = false;
     }
 
+    /**
+     * Restore a persisted application exactly as it was saved.
+     * Used by the project repository; does not touch inventory.
+     */
+    Application(String applicationID,
+                Applicant applicant,
+                Project project,
+                FlatType flatTypeChosen,
+                LocalDate applicationDate,
+                ApplicationStatus status,
+                boolean withdrawalRequested) {
+        this.applicationID       = Objects.requireNonNull(applicationID);
+        this.applicant           = Objects.requireNonNull(applicant);
+        this.project             = Objects.requireNonNull(project);
+        this.flatTypeChosen      = Objects.requireNonNull(flatTypeChosen);
+        this.applicationDate     = Objects.requireNonNull(applicationDate);
+        this.status              = Objects.requireNonNull(status);
+        this.withdrawalRequested = withdrawalRequested;
+        reserveIdsThrough(applicationID);
+    }
+
+    /** Make sure fresh IDs are numbered after {@code applicationID}; UUID IDs are ignored. */
+    static void reserveIdsThrough(String applicationID) {
+        if (!applicationID.startsWith(ID_PREFIX)) {
+            return;
+        }
+        try {
+            reserveIdsThrough(Long.parseLong(applicationID.substring(ID_PREFIX.length())));
+        } catch (NumberFormatException e) {
+            // not an allocated ID
+        }
+    }
+
+    /** Make sure fresh IDs are numbered after "APP-{@code lastUsedNumber}". */
+    static void reserveIdsThrough(long lastUsedNumber) {
+        IdAllocator.shared().reserveThrough(IdSequence.APPLICATION, lastUsedNumber);
+    }
+
+    /** @return an ID number above every application ID handed out so far. */
+    static long peekNextId() {
+        return IdAllocator.shared().peekHighWater(IdSequence.APPLICATION);
+    }
+
     // ─── Domain actions ────────────────────────────────────────────────────────
 
-    /** Approve this application if units available; else UNSUCCESSFUL. */
-    public void approve() {
+    /**
+     * Approve this application if units available; else UNSUCCESSFUL.
+     * The unit is taken with a single atomic reserve, so concurrent approvals
+     * across applications never oversell; transitions on this application are
+     * serialized by its own monitor.  The unit and the new status are
+     * published as one batch, so the journal records both or neither.
+     */
+    public synchronized void approve() {
         if (status != ApplicationStatus.PENDING) {
             throw new IllegalStateException("Can only approve a PENDING application");
         }
-        boolean success = false;
-        switch (flatTypeChosen) {
-            case Two_Room:
-                if (project.getTwoRoomUnits() > 0) {
-                    project.decrementUnits(flatTypeChosen);
-                    success = true;
-                }
-                break;
-            case Three_Room:
-                if (project.getThreeRoomUnits() > 0) {
-                    project.decrementUnits(flatTypeChosen);
-                    success = true;
-                }
-                break;
+        DomainEvents.beginBatch();
+        try {
+            boolean success = project.tryReserve(flatTypeChosen);
+            changeStatus(success
+                   ? ApplicationStatus.SUCCESSFUL
+                   : ApplicationStatus.UNSUCCESSFUL);
+        } finally {
+            DomainEvents.endBatch();
+        }
+    }
+
+    /**
+     * Settle a PENDING application for which the caller already took
+     * ({@code unitGranted}) or failed to take a unit, as {@link #approve} would.
+     * @return false, changing nothing, if it is no longer PENDING
+     */
+    synchronized boolean settleApproval(boolean unitGranted) {
+        if (status != ApplicationStatus.PENDING) {
+            return false;
         }
-        status = success
+        changeStatus(unitGranted
                ? ApplicationStatus.SUCCESSFUL
-               : ApplicationStatus.UNSUCCESSFUL;
+               : ApplicationStatus.UNSUCCESSFUL);
+        return true;
     }
 
     /** Reject this application (mark UNSUCCESSFUL). */
-    public void reject() {
+    public synchronized void reject() {
         if (status != ApplicationStatus.PENDING) {
             throw new IllegalStateException("Can only reject a PENDING application");
         }
-        status = ApplicationStatus.UNSUCCESSFUL;
+        changeStatus(ApplicationStatus.UNSUCCESSFUL);
     }
 
-    /** Book the flat (after a SUCCESSFUL approval). */
-    public void book() {
+    /** Book the flat (after a SUCCESSFUL approval); one batch, like {@link #approve}. */
+    public synchronized void book() {
         if (status != ApplicationStatus.SUCCESSFUL) {
             throw new IllegalStateException("Can only book a SUCCESSFUL application");
         }
-        status = ApplicationStatus.BOOKED;
+        DomainEvents.beginBatch();
+        try {
+            changeStatus(ApplicationStatus.BOOKED);
+        } finally {
+            DomainEvents.endBatch();
+        }
     }
 
     /** Withdraw the application (after request). Rolls back inventory if already booked. */
-    public void withdraw() {
+    public synchronized void withdraw() {
         if (!withdrawalRequested) {
             throw new IllegalStateException("Withdrawal must be requested first");
         }
-        // rollback units if previously BOOKED
-        if (status == ApplicationStatus.BOOKED) {
-            project.incrementUnits(flatTypeChosen);
+        // rollback units if previously BOOKED; journaled together with the status
+        DomainEvents.beginBatch();
+        try {
+            if (status == ApplicationStatus.BOOKED) {
+                project.incrementUnits(flatTypeChosen);
+            }
+            changeStatus(ApplicationStatus.WITHDRAWN);
+        } finally {
+            DomainEvents.endBatch();
         }
-        status = ApplicationStatus.WITHDRAWN;
+    }
+
+    private void changeStatus(ApplicationStatus next) {
+        ApplicationStatus from = status;
+        status = next;
+        DomainEvents.applicationStatusChanged(this, from);
+    }
+
+    /**
+     * Put this application back to PENDING with no withdrawal request, for
+     * fixtures that reuse applications.  Unlike {@link #restoreState} it
+     * publishes the change, so event-fed indexes stay in step.
+     */
+    synchronized void revertToPending() {
+        withdrawalRequested = false;
+        if (status != ApplicationStatus.PENDING) {
+            changeStatus(ApplicationStatus.PENDING);
+        }
+    }
+
+    /** Overwrite status and withdrawal flag when replaying the journal; publishes nothing. */
+    void restoreState(ApplicationStatus status, boolean withdrawalRequested) {
+        this.status              = Objects.requireNonNull(status);
+        this.withdrawalRequested = withdrawalRequested;
     }
 
     // ─── Withdrawal request ───────────────────────────────────────────────────
@@ -92,11 +185,12 @@ public class Application {
      * Applicant flags their intent to withdraw.
      * @return true if this is the first request; false if already requested.
      */
-    public boolean requestWithdrawal() {
+    public synchronized boolean requestWithdrawal() {
         if (withdrawalRequested || status == ApplicationStatus.WITHDRAWN) {
             return false;
         }
         withdrawalRequested = true;
+        DomainEvents.withdrawalRequested(this);
         return true;
     }
 
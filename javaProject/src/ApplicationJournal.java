@@ -0,0 +1,346 @@
+// ApplicationJournal.java
+
+import enums.ApplicationStatus;
+import enums.FlatType;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+
+/**
+ * Write-ahead journal for application state transitions and unit changes.
+ *
+ * Every event is appended as one CSV line and fsync'd before the domain
+ * call returns.  Appends use group commit: whichever caller finds no flush
+ * in progress writes and forces everything queued so far, while concurrent
+ * callers wait for that single fsync instead of issuing their own.
+ * Events raised inside a {@link DomainEvents#beginBatch batch} are held
+ * by the raising thread and queued together when the batch ends, so a
+ * flush writes either all of a batch's records or none of them.
+ *
+ * If a write or fsync fails the journal stops accepting records: the
+ * callers waiting on that flush, and every later one, get an
+ * IllegalStateException instead of returning as if their record were
+ * durable.
+ *
+ * Records hold absolute values (new status, remaining units), so replaying
+ * the journal on top of a snapshot that already contains some of them is
+ * harmless.  Call {@link #checkpoint()} once the snapshot has been saved.
+ *
+ * Record formats:
+ * <pre>
+ *   NEW,appID,projectID,applicantNRIC,flatType,applicationDate
+ *   APP,appID,projectID,status,withdrawalRequested
+ *   UNITS,projectID,flatType,remaining,version
+ * </pre>
+ * Concurrent unit changes may reach the journal out of order, so replay
+ * keeps the UNITS record with the highest version for each counter.
+ */
+public class ApplicationJournal implements DomainListener, Closeable {
+    private final Path file;
+    private final FileChannel channel;
+
+    /** Records this thread raised during its current batch, not yet queued. */
+    private final ThreadLocal<StringBuilder> batchRecords = ThreadLocal.withInitial(StringBuilder::new);
+
+    private final Object lock = new Object();
+    private final StringBuilder pending = new StringBuilder();
+    private long appendedSeq;
+    private long durableSeq;
+    private boolean flushing;
+    private boolean checkpointing;  // new records wait until the truncation is done
+    private IOException failure;     // set by the first failed flush
+
+    public ApplicationJournal(String filePath) throws IOException {
+        this.file    = Path.of(filePath);
+        this.channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    // ─── DomainListener ─────────────────────────────────────────────────────
+
+    @Override
+    public void applicationSubmitted(Application a) {
+        append(CsvCodec.encode(
+            "NEW",
+            a.getApplicationID(),
+            a.getProject().getProjectID(),
+            a.getApplicant().getNric(),
+            a.getFlatTypeChosen().name(),
+            a.getApplicationDate().toString()
+        ));
+    }
+
+    @Override
+    public void applicationStatusChanged(Application a, ApplicationStatus from) {
+        appendState(a);
+    }
+
+    @Override
+    public void withdrawalRequested(Application a) {
+        appendState(a);
+    }
+
+    @Override
+    public void unitsChanged(Project project, FlatType flatType, int remaining, int version) {
+        append(CsvCodec.encode("UNITS", project.getProjectID(), flatType.name(),
+            Integer.toString(remaining), Integer.toString(version)));
+    }
+
+    private void appendState(Application a) {
+        append(CsvCodec.encode(
+            "APP",
+            a.getApplicationID(),
+            a.getProject().getProjectID(),
+            a.getStatus().name(),
+            Boolean.toString(a.isWithdrawalRequested())
+        ));
+    }
+
+    // ─── Group commit ───────────────────────────────────────────────────────
+
+    @Override
+    public void batchFinished() {
+        StringBuilder records = batchRecords.get();
+        if (records.length() == 0) {
+            return;
+        }
+        batchRecords.remove();  // a large batch's buffer is not kept around
+        enqueue(records);
+    }
+
+    /**
+     * Queue one record and return once it is on disk, or, inside a
+     * {@link DomainEvents#beginBatch batch}, hold it until the batch ends.
+     */
+    private void append(String record) {
+        if (DomainEvents.inBatch()) {
+            batchRecords.get().append(record).append('\n');
+            return;
+        }
+        enqueue(record + '\n');
+    }
+
+    /** Queue whole records and return once they are on disk. */
+    private void enqueue(CharSequence records) {
+        long seq;
+        boolean interrupted = false;
+        synchronized (lock) {
+            while (checkpointing) {
+                interrupted |= waitOnLock();
+            }
+            if (failure != null) {
+                restoreInterrupt(interrupted);
+                throw journalFailed();
+            }
+            pending.append(records);
+            seq = ++appendedSeq;
+        }
+        restoreInterrupt(interrupted);
+        awaitDurable(seq);
+    }
+
+    /**
+     * Wait until record {@code seq} is durable, flushing everything queued
+     * if no other caller is.  Interrupts do not cut the wait short; the
+     * thread's interrupt status is restored before returning.
+     * @throws IllegalStateException if the journal failed before the record was durable
+     */
+    private void awaitDurable(long seq) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                String batch;
+                long batchEnd;
+                synchronized (lock) {
+                    while (flushing && durableSeq < seq) {
+                        interrupted |= waitOnLock();
+                    }
+                    if (durableSeq >= seq) {
+                        return;
+                    }
+                    if (failure != null) {
+                        throw journalFailed();
+                    }
+                    flushing = true;
+                    batch    = pending.toString();
+                    batchEnd = appendedSeq;
+                    pending.setLength(0);
+                }
+
+                // An interrupt during channel I/O would close the channel for everyone.
+                interrupted |= Thread.interrupted();
+                IOException error = null;
+                try {
+                    ByteBuffer buf = ByteBuffer.wrap(batch.getBytes(StandardCharsets.UTF_8));
+                    while (buf.hasRemaining()) {
+                        channel.write(buf);
+                    }
+                    channel.force(false);
+                } catch (IOException e) {
+                    error = e;
+                }
+                synchronized (lock) {
+                    if (error == null) {
+                        durableSeq = batchEnd;
+                    } else {
+                        failure = error;
+                    }
+                    flushing = false;
+                    lock.notifyAll();
+                }
+                if (error != null) {
+                    System.err.println("Error writing application journal: " + error);
+                    throw journalFailed();
+                }
+            }
+        } finally {
+            restoreInterrupt(interrupted);
+        }
+    }
+
+    /** Wait on {@code lock}, which the caller holds; @return true if interrupted. */
+    private boolean waitOnLock() {
+        try {
+            lock.wait();
+            return false;
+        } catch (InterruptedException e) {
+            return true;
+        }
+    }
+
+    private static void restoreInterrupt(boolean interrupted) {
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private IllegalStateException journalFailed() {
+        return new IllegalStateException("Application journal unavailable: " + failure, failure);
+    }
+
+    // ─── Recovery ───────────────────────────────────────────────────────────
+
+    /**
+     * Re-apply every journaled event on top of the loaded snapshot.
+     * Only publishes the applicationLoaded and unitsRestored recovery
+     * events, which the journal ignores, so replay is not journaled again.
+     * @return the number of records applied
+     */
+    public int replay(ProjectRepository projectRepo, UserRepository userRepo) {
+        int applied = 0;
+        int skipped = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                try {
+                    if (applyRecord(CsvCodec.decode(line), projectRepo, userRepo)) {
+                        applied++;
+                    } else {
+                        skipped++;
+                    }
+                } catch (RuntimeException e) {
+                    skipped++;  // torn or unreadable tail record
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading application journal: " + e.getMessage());
+        }
+        if (skipped > 0) {
+            System.err.println("Skipped " + skipped + " unusable journal records");
+        }
+        return applied;
+    }
+
+    private static boolean applyRecord(String[] f, ProjectRepository projectRepo, UserRepository userRepo) {
+        switch (f[0]) {
+            case "NEW": {
+                Project project = projectRepo.findById(f[2]);
+                User user = userRepo.findByNric(f[3]);
+                if (project == null || !(user instanceof Applicant)) {
+                    return false;
+                }
+                if (project.findApplication(f[1]) == null) {
+                    Applicant applicant = (Applicant) user;
+                    Application app = new Application(
+                        f[1], applicant, project,
+                        FlatType.valueOf(f[4]),
+                        LocalDate.parse(f[5]),
+                        ApplicationStatus.PENDING,
+                        false
+                    );
+                    project.addApplication(app);
+                    applicant.restoreApplication(app);
+                    DomainEvents.applicationLoaded(app);
+                }
+                return true;
+            }
+            case "APP": {
+                Project project = projectRepo.findById(f[2]);
+                Application app = project == null ? null : project.findApplication(f[1]);
+                if (app == null) {
+                    return false;
+                }
+                app.restoreState(ApplicationStatus.valueOf(f[3]), Boolean.parseBoolean(f[4]));
+                DomainEvents.applicationLoaded(app);
+                return true;
+            }
+            case "UNITS": {
+                Project project = projectRepo.findById(f[1]);
+                if (project == null) {
+                    return false;
+                }
+                FlatType flatType = FlatType.valueOf(f[2]);
+                int version = Integer.parseInt(f[4]);
+                if (version >= FlatInventory.version(project.getInventory().state(flatType))) {
+                    project.restoreUnits(flatType, Integer.parseInt(f[3]), version);
+                }
+                return true;
+            }
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Discard all journaled records after the snapshot has been persisted.
+     * New records wait until the truncation is done, and everything already
+     * queued is flushed first, so no flush can land in the middle of it.
+     * Records a thread holds in an open batch are queued afterwards and kept.
+     */
+    public void checkpoint() {
+        boolean interrupted = false;
+        synchronized (lock) {
+            checkpointing = true;
+            try {
+                while (flushing || (durableSeq < appendedSeq && failure == null)) {
+                    interrupted |= waitOnLock();
+                }
+                interrupted |= Thread.interrupted();
+                channel.truncate(0);
+                channel.force(true);
+            } catch (IOException e) {
+                System.err.println("Error truncating application journal: " + e.getMessage());
+            } finally {
+                checkpointing = false;
+                lock.notifyAll();
+            }
+        }
+        restoreInterrupt(interrupted);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,103 @@
+// ApplicationRegistry.java
+
+import enums.ApplicationStatus;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide index of applications by ID, by status and by project.
+ *
+ * Kept current through {@link DomainEvents}: new submissions, status
+ * changes, applications read back from storage and project deletions.
+ * Lookups are O(1) and return live read-only views, not copies.
+ */
+public class ApplicationRegistry implements DomainListener {
+    private static final ApplicationRegistry SHARED = new ApplicationRegistry();
+
+    static {
+        DomainEvents.register(SHARED);
+    }
+
+    private final Map<String, Application> byId = new ConcurrentHashMap<>();
+    private final Map<ApplicationStatus, Set<Application>> byStatus = new EnumMap<>(ApplicationStatus.class);
+    private final Map<String, Set<Application>> byProject = new ConcurrentHashMap<>();
+
+    public ApplicationRegistry() {
+        for (ApplicationStatus s : ApplicationStatus.values()) {
+            byStatus.put(s, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    /** @return the registry fed by the domain events of this process. */
+    public static ApplicationRegistry shared() {
+        return SHARED;
+    }
+
+    // ─── Queries ────────────────────────────────────────────────────────────
+
+    /** @return the application with this ID, or null if not indexed. */
+    public Application find(String applicationID) {
+        return applicationID == null ? null : byId.get(applicationID);
+    }
+
+    /** @return a live read-only view of all applications in {@code status}. */
+    public Collection<Application> findByStatus(ApplicationStatus status) {
+        return Collections.unmodifiableSet(byStatus.get(status));
+    }
+
+    /** @return a live read-only view of all indexed applications for {@code project}. */
+    public Collection<Application> findByProject(Project project) {
+        Set<Application> apps = byProject.get(project.getProjectID());
+        return apps == null ? Collections.emptySet() : Collections.unmodifiableSet(apps);
+    }
+
+    /** @return the number of indexed applications. */
+    public int size() {
+        return byId.size();
+    }
+
+    // ─── DomainListener ─────────────────────────────────────────────────────
+
+    @Override
+    public void applicationSubmitted(Application application) {
+        index(application);
+    }
+
+    @Override
+    public void applicationLoaded(Application application) {
+        for (Set<Application> apps : byStatus.values()) {
+            apps.remove(application);
+        }
+        index(application);
+    }
+
+    @Override
+    public void applicationStatusChanged(Application application, ApplicationStatus from) {
+        byStatus.get(from).remove(application);
+        byStatus.get(application.getStatus()).add(application);
+    }
+
+    @Override
+    public void projectRemoved(Project project) {
+        Set<Application> apps = byProject.remove(project.getProjectID());
+        if (apps == null) {
+            return;
+        }
+        for (Application a : apps) {
+            byId.remove(a.getApplicationID(), a);
+            byStatus.get(a.getStatus()).remove(a);
+        }
+    }
+
+    private void index(Application application) {
+        byId.put(application.getApplicationID(), application);
+        byStatus.get(application.getStatus()).add(application);
+        byProject.computeIfAbsent(application.getProject().getProjectID(),
+            k -> ConcurrentHashMap.newKeySet()).add(application);
+    }
+}
@@ -0,0 +1,127 @@
+// BallotAllocator.java
+
+import enums.ApplicationStatus;
+import enums.ApprovalOutcome;
+import enums.FlatType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.ToIntFunction;
+
+/**
+ * Allocates an oversubscribed project's units by ballot instead of first
+ * come, first served.
+ *
+ * The PENDING applications for each flat type are put in a canonical
+ * order (by application ID), bucketed by priority tier with a counting
+ * sort, and each tier is shuffled with Fisher–Yates, all over int index
+ * arrays.  Randomness comes from a {@link SplittableRandom} seeded by the
+ * caller and split once per flat type, so the same seed and the same
+ * applications always give the same draw.  Units are then handed out in
+ * draw order by {@link BatchApprovalEngine}, in one inventory update per
+ * flat type; applications that miss out become UNSUCCESSFUL.
+ */
+public class BallotAllocator {
+    /** Every application in the same tier. */
+    public static final ToIntFunction<Application> NO_PRIORITY = a -> 0;
+
+    private static final FlatType[] FLAT_TYPES = FlatType.values();
+
+    private final long seed;
+
+    public BallotAllocator(long seed) {
+        this.seed = seed;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Ballot every flat type of {@code project} and allocate its units.
+     * @param tier priority tier of an application: 0 is drawn first, then 1, ...
+     * @return the outcome per application ID, in draw order
+     */
+    public Map<String, ApprovalOutcome> run(Project project, ToIntFunction<Application> tier) {
+        List<Application> drawn = new ArrayList<>();
+        for (FlatType ft : FLAT_TYPES) {
+            drawn.addAll(draw(project, ft, tier));
+        }
+        return new BatchApprovalEngine().approve(drawn);
+    }
+
+    /**
+     * @return the PENDING applications for {@code flatType} in
+     *         {@code project}, in ballot order; allocates nothing
+     */
+    public List<Application> draw(Project project, FlatType flatType, ToIntFunction<Application> tier) {
+        Project.ensureChildrenLoaded(List.of(project));
+        List<Application> pending = new ArrayList<>();
+        for (Application a : ApplicationRegistry.shared().findByProject(project)) {
+            if (a.getStatus() == ApplicationStatus.PENDING && a.getFlatTypeChosen() == flatType) {
+                pending.add(a);
+            }
+        }
+        pending.sort(Comparator.comparing(Application::getApplicationID));
+        Application[] apps = pending.toArray(new Application[0]);
+
+        int[] tiers = new int[apps.length];
+        int tierCount = 0;
+        for (int i = 0; i < apps.length; i++) {
+            tiers[i] = tier.applyAsInt(apps[i]);
+            if (tiers[i] < 0) {
+                throw new IllegalArgumentException("Negative priority tier for " + apps[i].getApplicationID());
+            }
+            tierCount = Math.max(tierCount, tiers[i] + 1);
+        }
+        int[] order = shuffle(tiers, tierCount, randomFor(flatType));
+
+        List<Application> drawn = new ArrayList<>(apps.length);
+        for (int i : order) {
+            drawn.add(apps[i]);
+        }
+        return drawn;
+    }
+
+    /**
+     * Counting-sort the indices 0..n-1 by tier, then shuffle each tier's
+     * run in place.  @return the indices in draw order
+     */
+    static int[] shuffle(int[] tiers, int tierCount, SplittableRandom random) {
+        int n = tiers.length;
+        int[] start = new int[tierCount + 1];
+        for (int t : tiers) {
+            start[t + 1]++;
+        }
+        for (int t = 0; t < tierCount; t++) {
+            start[t + 1] += start[t];
+        }
+        int[] next = start.clone();
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[next[tiers[i]]++] = i;
+        }
+        for (int t = 0; t < tierCount; t++) {
+            for (int i = start[t + 1] - 1; i > start[t]; i--) {
+                int j = start[t] + random.nextInt(i - start[t] + 1);
+                int swap = order[i];
+                order[i] = order[j];
+                order[j] = swap;
+            }
+        }
+        return order;
+    }
+
+    /** One independent stream per flat type, split from the seed in enum order. */
+    private SplittableRandom randomFor(FlatType flatType) {
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom random = root.split();
+        for (int i = 0; i < flatType.ordinal(); i++) {
+            random = root.split();
+        }
+        return random;
+    }
+}
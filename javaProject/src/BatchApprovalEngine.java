@@ -0,0 +1,105 @@
+// BatchApprovalEngine.java
+
+import enums.ApplicationStatus;
+import enums.ApprovalOutcome;
+import enums.FlatType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Approves many PENDING applications at once.
+ *
+ * Applications are grouped by project and flat type, and each group takes
+ * all the units it can get in a single inventory update; the granted
+ * units then go to the group's applications in order.  All status
+ * changes run as one {@link DomainEvents#beginBatch batch}, so the
+ * journal forces them to disk together instead of once per application.
+ */
+public class BatchApprovalEngine {
+    private static final Comparator<Application> FIRST_COME =
+        Comparator.comparing(Application::getApplicationDate).thenComparing(Application::getApplicationID);
+
+    /**
+     * Approve each application while units last; the rest become
+     * UNSUCCESSFUL, exactly as if {@link Application#approve} had been
+     * called on each in turn.
+     * @return the outcome per application ID, in input order
+     */
+    public Map<String, ApprovalOutcome> approve(Collection<Application> applications) {
+        return allocate(applications, false);
+    }
+
+    /**
+     * Approve {@code project}'s PENDING applications, oldest first, up to
+     * the units remaining for each flat type.  Applications beyond that
+     * are left PENDING and not reported.
+     * @return the outcome per application ID
+     */
+    public Map<String, ApprovalOutcome> approvePending(Project project) {
+        Project.ensureChildrenLoaded(List.of(project));
+        Map<FlatType, List<Application>> pending = new EnumMap<>(FlatType.class);
+        for (Application a : ApplicationRegistry.shared().findByProject(project)) {
+            if (a.getStatus() == ApplicationStatus.PENDING) {
+                pending.computeIfAbsent(a.getFlatTypeChosen(), k -> new ArrayList<>()).add(a);
+            }
+        }
+        List<Application> chosen = new ArrayList<>();
+        pending.forEach((ft, apps) -> {
+            apps.sort(FIRST_COME);
+            chosen.addAll(apps.subList(0, Math.min(apps.size(), project.getUnits(ft))));
+        });
+        return allocate(chosen, true);
+    }
+
+    private Map<String, ApprovalOutcome> allocate(Collection<Application> applications, boolean keepPendingWithoutUnit) {
+        Map<String, ApprovalOutcome> outcomes = new LinkedHashMap<>();
+        Map<Project, Map<FlatType, List<Application>>> groups = new LinkedHashMap<>();
+        for (Application a : applications) {
+            if (outcomes.containsKey(a.getApplicationID())) {
+                continue;
+            }
+            if (a.getStatus() != ApplicationStatus.PENDING) {
+                outcomes.put(a.getApplicationID(), ApprovalOutcome.NOT_PENDING);
+                continue;
+            }
+            outcomes.put(a.getApplicationID(), null);  // placeholder keeps input order
+            groups.computeIfAbsent(a.getProject(), k -> new EnumMap<>(FlatType.class))
+                  .computeIfAbsent(a.getFlatTypeChosen(), k -> new ArrayList<>())
+                  .add(a);
+        }
+
+        DomainEvents.beginBatch();
+        try {
+            groups.forEach((project, byType) -> byType.forEach((ft, group) -> {
+                int left = project.tryReserve(ft, group.size());
+                for (Application a : group) {
+                    boolean grant = left > 0;
+                    ApprovalOutcome outcome;
+                    if (!grant && keepPendingWithoutUnit) {
+                        outcome = ApprovalOutcome.LEFT_PENDING;
+                    } else if (!a.settleApproval(grant)) {
+                        outcome = ApprovalOutcome.NOT_PENDING;  // changed since it was grouped
+                    } else if (grant) {
+                        left--;
+                        outcome = ApprovalOutcome.SUCCESSFUL;
+                    } else {
+                        outcome = ApprovalOutcome.UNSUCCESSFUL;
+                    }
+                    outcomes.put(a.getApplicationID(), outcome);
+                }
+                if (left > 0) {
+                    project.releaseUnits(ft, left);
+                }
+            }));
+        } finally {
+            DomainEvents.endBatch();
+        }
+        return outcomes;
+    }
+}
@@ -0,0 +1,211 @@
+// BookingIndex.java
+
+import enums.ApplicationStatus;
+import enums.FlatType;
+import enums.MaritalStatus;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Bitmap index over BOOKED applications for answering {@link Filter}s.
+ *
+ * Every booked application holds a slot number; each attribute keeps a
+ * BitSet of the slots having that value: marital status, chosen flat
+ * type, project, and one bucket per age in a sorted map.  A query ANDs
+ * the bitmaps of the criteria that are set, so it costs a few word-wide
+ * operations per 64 bookings instead of a full pass over applications.
+ *
+ * Kept current through {@link DomainEvents}.  Applicant age and marital
+ * status are indexed as they were when the booking was recorded.
+ */
+public class BookingIndex implements DomainListener {
+    private static final BookingIndex SHARED = new BookingIndex();
+
+    static {
+        DomainEvents.register(SHARED);
+    }
+
+    private final Map<Application, Integer> slotOf = new HashMap<>();
+    private final List<Application> slots = new ArrayList<>();
+    private final BitSet free = new BitSet();
+    private final BitSet booked = new BitSet();
+
+    private final Map<MaritalStatus, BitSet> byMaritalStatus = new EnumMap<>(MaritalStatus.class);
+    private final Map<FlatType, BitSet> byFlatType = new EnumMap<>(FlatType.class);
+    private final Map<Project, BitSet> byProject = new HashMap<>();
+    private final TreeMap<Integer, BitSet> byAge = new TreeMap<>();
+
+    public BookingIndex() {
+        for (MaritalStatus ms : MaritalStatus.values()) {
+            byMaritalStatus.put(ms, new BitSet());
+        }
+        for (FlatType ft : FlatType.values()) {
+            byFlatType.put(ft, new BitSet());
+        }
+    }
+
+    /** @return the index fed by the domain events of this process. */
+    public static BookingIndex shared() {
+        return SHARED;
+    }
+
+    // ─── Queries ────────────────────────────────────────────────────────────
+
+    /**
+     * @return the booked applications matching {@code filter} (null for all),
+     *         the same set {@link Filter#matches(Applicant, Project)} selects.
+     */
+    public List<Application> find(Filter filter) {
+        return find(filter, null);
+    }
+
+    /**
+     * As {@link #find(Filter)}, further restricted to bookings of
+     * {@code bookedFlatType} (null for either).
+     */
+    public synchronized List<Application> find(Filter filter, FlatType bookedFlatType) {
+        BitSet hits = select(filter, bookedFlatType);
+        List<Application> result = new ArrayList<>(hits.cardinality());
+        for (int i = hits.nextSetBit(0); i >= 0; i = hits.nextSetBit(i + 1)) {
+            result.add(slots.get(i));
+        }
+        return result;
+    }
+
+    /** @return how many booked applications match, without listing them. */
+    public synchronized int count(Filter filter, FlatType bookedFlatType) {
+        return select(filter, bookedFlatType).cardinality();
+    }
+
+    /** @return the number of indexed bookings. */
+    public synchronized int size() {
+        return booked.cardinality();
+    }
+
+    private BitSet select(Filter filter, FlatType bookedFlatType) {
+        BitSet hits = (BitSet) booked.clone();
+        if (bookedFlatType != null) {
+            hits.and(byFlatType.get(bookedFlatType));
+        }
+        if (filter == null) {
+            return hits;
+        }
+        if (filter.getMaritalStatus() != null) {
+            hits.and(byMaritalStatus.get(filter.getMaritalStatus()));
+        }
+        Integer min = filter.getMinAge();
+        Integer max = filter.getMaxAge();
+        if (min != null || max != null) {
+            int lo = min != null ? min : Integer.MIN_VALUE;
+            int hi = max != null ? max : Integer.MAX_VALUE;
+            BitSet ages = new BitSet();
+            if (lo <= hi) {
+                for (BitSet bucket : byAge.subMap(lo, true, hi, true).values()) {
+                    ages.or(bucket);
+                }
+            }
+            hits.and(ages);
+        }
+        // Project criteria depend on the project's current name and units,
+        // so they are resolved against the (few) projects at query time.
+        String name = filter.getProjectName();
+        FlatType available = filter.getFlatType();
+        if (name != null || available != null) {
+            BitSet projects = new BitSet();
+            for (Map.Entry<Project, BitSet> e : byProject.entrySet()) {
+                Project p = e.getKey();
+                if ((name == null || p.getProjectName().equalsIgnoreCase(name))
+                    && (available == null || p.getUnits(available) != 0)) {
+                    projects.or(e.getValue());
+                }
+            }
+            hits.and(projects);
+        }
+        return hits;
+    }
+
+    // ─── DomainListener ─────────────────────────────────────────────────────
+
+    @Override
+    public void applicationLoaded(Application application) {
+        sync(application);
+    }
+
+    @Override
+    public void applicationStatusChanged(Application application, ApplicationStatus from) {
+        if (from == ApplicationStatus.BOOKED || application.getStatus() == ApplicationStatus.BOOKED) {
+            sync(application);
+        }
+    }
+
+    @Override
+    public synchronized void projectRemoved(Project project) {
+        BitSet bits = byProject.remove(project);
+        if (bits == null) {
+            return;
+        }
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            remove(slots.get(i));
+        }
+    }
+
+    // ─── Maintenance ────────────────────────────────────────────────────────
+
+    private synchronized void sync(Application app) {
+        boolean indexed = slotOf.containsKey(app);
+        boolean isBooked = app.getStatus() == ApplicationStatus.BOOKED;
+        if (isBooked && !indexed) {
+            add(app);
+        } else if (!isBooked && indexed) {
+            remove(app);
+        }
+    }
+
+    private void add(Application app) {
+        int slot = free.nextSetBit(0);
+        if (slot < 0) {
+            slot = slots.size();
+            slots.add(app);
+        } else {
+            free.clear(slot);
+            slots.set(slot, app);
+        }
+        slotOf.put(app, slot);
+        booked.set(slot);
+
+        Applicant applicant = app.getApplicant();
+        byMaritalStatus.get(applicant.getMaritalStatus()).set(slot);
+        byFlatType.get(app.getFlatTypeChosen()).set(slot);
+        byProject.computeIfAbsent(app.getProject(), k -> new BitSet()).set(slot);
+        byAge.computeIfAbsent(applicant.getAge(), k -> new BitSet()).set(slot);
+    }
+
+    private void remove(Application app) {
+        Integer slot = slotOf.remove(app);
+        if (slot == null) {
+            return;
+        }
+        booked.clear(slot);
+        for (BitSet bits : byMaritalStatus.values()) {
+            bits.clear(slot);
+        }
+        for (BitSet bits : byFlatType.values()) {
+            bits.clear(slot);
+        }
+        BitSet project = byProject.get(app.getProject());
+        if (project != null) {
+            project.clear(slot);
+        }
+        for (BitSet bits : byAge.values()) {     // the age may have changed since indexing
+            bits.clear(slot);
+        }
+        slots.set(slot, null);
+        free.set(slot);
+    }
+}
@@ -0,0 +1,245 @@
+// BookingReportWriter.java
+
+import enums.ApplicationStatus;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.function.BiPredicate;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams booking-report rows to a file, optionally gzip-compressed.
+ *
+ * Rows are encoded by hand straight into one reusable byte buffer, which
+ * is drained to the file channel whenever it fills, so memory use does not
+ * grow with the number of rows and no per-row Strings or Formatters are
+ * created.  Fields are quoted the same way as {@link CsvCodec}.
+ */
+public class BookingReportWriter implements Closeable {
+    public static final String HEADER =
+        "ApplicantNRIC,Age,MaritalStatus,FlatType,ProjectID,ProjectName,BookingDate\n";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final OutputStream gzip;     // null when writing plain CSV
+    private final byte[] buf = new byte[BUFFER_SIZE];
+    private final ByteBuffer view = ByteBuffer.wrap(buf);
+    private int pos;
+    private long rows;
+
+    /** Create (or truncate) {@code file} and write the header line. */
+    public BookingReportWriter(Path file, boolean compress) throws IOException {
+        this(file, compress, true);
+    }
+
+    /**
+     * Create (or truncate) {@code file}, optionally without the header, for
+     * report shards that are concatenated later.  Gzip output is a complete
+     * gzip member, and concatenated members decompress as one stream.
+     */
+    BookingReportWriter(Path file, boolean compress, boolean header) throws IOException {
+        this.channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.gzip = compress
+            ? new GZIPOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE)
+            : null;
+        if (header) {
+            putAscii(HEADER);
+        }
+    }
+
+    /** Append one row for {@code app}. */
+    public void write(Application app) throws IOException {
+        Applicant applicant = app.getApplicant();
+        Project project = app.getProject();
+
+        putField(applicant.getNric());
+        put(',');
+        putInt(applicant.getAge());
+        put(',');
+        putAscii(applicant.getMaritalStatus().name());
+        put(',');
+        putAscii(app.getFlatTypeChosen().name());
+        put(',');
+        putField(project.getProjectID());
+        put(',');
+        putField(project.getProjectName());
+        put(',');
+        putDate(app.getApplicationDate());
+        put('\n');
+        rows++;
+    }
+
+    /**
+     * @param filter  a compiled {@link Filter}, or null for no filtering
+     * @return true if {@code app} belongs in a booking report under {@code filter}.
+     */
+    public static boolean isReportable(Application app, BiPredicate<Applicant, Project> filter) {
+        return app.getStatus() == ApplicationStatus.BOOKED
+            && (filter == null || filter.test(app.getApplicant(), app.getProject()));
+    }
+
+    /** @return the number of rows written so far, excluding the header. */
+    public long getRowCount() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+            if (gzip != null) {
+                gzip.close();   // writes the trailer and closes the channel
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    // ─── Encoding ───────────────────────────────────────────────────────────
+
+    private void put(char c) throws IOException {
+        if (pos == buf.length) {
+            drain();
+        }
+        buf[pos++] = (byte) c;
+    }
+
+    /** Known-ASCII text such as enum names; never quoted. */
+    private void putAscii(String s) throws IOException {
+        reserve(s.length());
+        for (int i = 0, n = s.length(); i < n; i++) {
+            buf[pos++] = (byte) s.charAt(i);
+        }
+    }
+
+    private void putInt(int v) throws IOException {
+        reserve(11);
+        if (v < 0) {
+            buf[pos++] = '-';
+            v = -v;     // ages are never Integer.MIN_VALUE
+        }
+        int start = pos;
+        do {
+            buf[pos++] = (byte) ('0' + v % 10);
+            v /= 10;
+        } while (v != 0);
+        for (int i = start, j = pos - 1; i < j; i++, j--) {
+            byte t = buf[i];
+            buf[i] = buf[j];
+            buf[j] = t;
+        }
+    }
+
+    /** ISO yyyy-MM-dd, as DateTimeFormatter.ISO_LOCAL_DATE prints years 0-9999. */
+    private void putDate(LocalDate d) throws IOException {
+        reserve(10);
+        int y = d.getYear();
+        buf[pos++] = (byte) ('0' + y / 1000 % 10);
+        buf[pos++] = (byte) ('0' + y / 100 % 10);
+        buf[pos++] = (byte) ('0' + y / 10 % 10);
+        buf[pos++] = (byte) ('0' + y % 10);
+        buf[pos++] = '-';
+        put2(d.getMonthValue());
+        buf[pos++] = '-';
+        put2(d.getDayOfMonth());
+    }
+
+    private void put2(int v) {
+        buf[pos++] = (byte) ('0' + v / 10);
+        buf[pos++] = (byte) ('0' + v % 10);
+    }
+
+    /** Free-text field: CSV-quoted when needed, UTF-8 encoded. */
+    private void putField(String s) throws IOException {
+        int n = s.length();
+        int worst = 3 * n + 2;      // every char 3 UTF-8 bytes (or a doubled quote), plus quotes
+        if (worst > buf.length) {
+            StringBuilder sb = new StringBuilder(n + 2);
+            CsvCodec.appendField(sb, s);
+            drain();
+            writeOut(ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8)));
+            return;
+        }
+        reserve(worst);
+
+        boolean quote = false;
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                quote = true;
+                break;
+            }
+        }
+        if (quote) {
+            buf[pos++] = '"';
+        }
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                if (c == '"') {
+                    buf[pos++] = '"';
+                } else if (c == '\n' || c == '\r') {
+                    c = ' ';
+                }
+                buf[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xC0 | c >> 6);
+                buf[pos++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < n
+                       && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                buf[pos++] = (byte) (0xF0 | cp >> 18);
+                buf[pos++] = (byte) (0x80 | cp >> 12 & 0x3F);
+                buf[pos++] = (byte) (0x80 | cp >> 6 & 0x3F);
+                buf[pos++] = (byte) (0x80 | cp & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                buf[pos++] = '?';   // unpaired surrogate, as String.getBytes does
+            } else {
+                buf[pos++] = (byte) (0xE0 | c >> 12);
+                buf[pos++] = (byte) (0x80 | c >> 6 & 0x3F);
+                buf[pos++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        if (quote) {
+            buf[pos++] = '"';
+        }
+    }
+
+    // ─── Output ─────────────────────────────────────────────────────────────
+
+    private void reserve(int bytes) throws IOException {
+        if (buf.length - pos < bytes) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        if (pos == 0) {
+            return;
+        }
+        view.clear().limit(pos);
+        writeOut(view);
+        pos = 0;
+    }
+
+    private void writeOut(ByteBuffer bytes) throws IOException {
+        if (gzip != null) {
+            gzip.write(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+            bytes.position(bytes.limit());
+            return;
+        }
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+// BookingStatistics.java
+
+import enums.ApplicationStatus;
+import enums.FlatType;
+import enums.MaritalStatus;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Materialized booking counts and remaining-unit totals.
+ *
+ * Every figure is a counter adjusted by {@link DomainEvents} as bookings,
+ * withdrawals and unit changes happen, so reading one is O(1) instead of
+ * a pass over all applications.  Bookings are counted per project, per
+ * flat type and per applicant marital status (as at booking time).
+ * Remaining units are tracked per project and flat type, and totalled.
+ */
+public class BookingStatistics implements DomainListener {
+    private static final int FLAT_TYPES = FlatType.values().length;
+    private static final int MARITAL_STATUSES = MaritalStatus.values().length;
+
+    private static final BookingStatistics SHARED = new BookingStatistics();
+
+    static {
+        DomainEvents.register(SHARED);
+    }
+
+    private final Map<Project, ProjectStats> projects = new ConcurrentHashMap<>();
+    private final AtomicIntegerArray bookedByFlatType = new AtomicIntegerArray(FLAT_TYPES);
+    private final AtomicIntegerArray bookedByMaritalStatus = new AtomicIntegerArray(MARITAL_STATUSES);
+    private final AtomicLongArray remainingByFlatType = new AtomicLongArray(FLAT_TYPES);
+
+    /** Counters for one project. */
+    private static final class ProjectStats {
+        final Set<Application> booked = ConcurrentHashMap.newKeySet();
+        final AtomicIntegerArray bookedByFlatType = new AtomicIntegerArray(FLAT_TYPES);
+        // Per flat type: version << 32 | remaining units, as in FlatInventory.
+        final AtomicLongArray units = new AtomicLongArray(FLAT_TYPES);
+    }
+
+    /** @return the statistics fed by the domain events of this process. */
+    public static BookingStatistics shared() {
+        return SHARED;
+    }
+
+    // ─── Queries ────────────────────────────────────────────────────────────
+
+    public int getTotalBooked() {
+        int total = 0;
+        for (int i = 0; i < FLAT_TYPES; i++) {
+            total += bookedByFlatType.get(i);
+        }
+        return total;
+    }
+
+    public int getBooked(FlatType flatType) {
+        return bookedByFlatType.get(flatType.ordinal());
+    }
+
+    public int getBooked(MaritalStatus maritalStatus) {
+        return bookedByMaritalStatus.get(maritalStatus.ordinal());
+    }
+
+    public int getBooked(Project project) {
+        ProjectStats s = projects.get(project);
+        return s == null ? 0 : s.booked.size();
+    }
+
+    public int getBooked(Project project, FlatType flatType) {
+        ProjectStats s = projects.get(project);
+        return s == null ? 0 : s.bookedByFlatType.get(flatType.ordinal());
+    }
+
+    /** @return remaining units of {@code flatType} summed over all tracked projects. */
+    public long getRemainingUnits(FlatType flatType) {
+        return remainingByFlatType.get(flatType.ordinal());
+    }
+
+    /** @return the number of projects being tracked. */
+    public int getProjectCount() {
+        return projects.size();
+    }
+
+    // ─── DomainListener ─────────────────────────────────────────────────────
+
+    @Override
+    public void projectAdded(Project project) {
+        stats(project);
+    }
+
+    @Override
+    public void projectRemoved(Project project) {
+        ProjectStats s = projects.remove(project);
+        if (s == null) {
+            return;
+        }
+        for (Application app : s.booked) {
+            bookedByFlatType.decrementAndGet(app.getFlatTypeChosen().ordinal());
+            bookedByMaritalStatus.decrementAndGet(app.getApplicant().getMaritalStatus().ordinal());
+        }
+        for (int i = 0; i < FLAT_TYPES; i++) {
+            remainingByFlatType.addAndGet(i, -FlatInventory.units(s.units.get(i)));
+        }
+    }
+
+    @Override
+    public void applicationLoaded(Application application) {
+        sync(application);
+    }
+
+    @Override
+    public void applicationStatusChanged(Application application, ApplicationStatus from) {
+        sync(application);
+    }
+
+    @Override
+    public void unitsChanged(Project project, FlatType flatType, int remaining, int version) {
+        updateUnits(stats(project), flatType, remaining, version);
+    }
+
+    @Override
+    public void unitsRestored(Project project, FlatType flatType, int remaining, int version) {
+        updateUnits(stats(project), flatType, remaining, version);
+    }
+
+    // ─── Maintenance ────────────────────────────────────────────────────────
+
+    private ProjectStats stats(Project project) {
+        ProjectStats s = projects.get(project);
+        if (s != null) {
+            return s;
+        }
+        ProjectStats created = new ProjectStats();
+        s = projects.putIfAbsent(project, created);
+        if (s != null) {
+            return s;
+        }
+        // Seed from the live counters; later events only apply if newer.
+        for (FlatType ft : FlatType.values()) {
+            long state = project.getInventory().state(ft);
+            updateUnits(created, ft, FlatInventory.units(state), FlatInventory.version(state));
+        }
+        return created;
+    }
+
+    /** Count or uncount one application so it matches its current status; idempotent. */
+    private void sync(Application app) {
+        ProjectStats s = stats(app.getProject());
+        int ft = app.getFlatTypeChosen().ordinal();
+        int ms = app.getApplicant().getMaritalStatus().ordinal();
+        if (app.getStatus() == ApplicationStatus.BOOKED) {
+            if (s.booked.add(app)) {
+                s.bookedByFlatType.incrementAndGet(ft);
+                bookedByFlatType.incrementAndGet(ft);
+                bookedByMaritalStatus.incrementAndGet(ms);
+            }
+        } else if (s.booked.remove(app)) {
+            s.bookedByFlatType.decrementAndGet(ft);
+            bookedByFlatType.decrementAndGet(ft);
+            bookedByMaritalStatus.decrementAndGet(ms);
+        }
+    }
+
+    /**
+     * Record {@code remaining} unless a newer version was already seen;
+     * events from racing threads can arrive out of order.
+     */
+    private void updateUnits(ProjectStats s, FlatType flatType, int remaining, int version) {
+        int i = flatType.ordinal();
+        long next = ((long) version << 32) | (remaining & 0xFFFFFFFFL);
+        while (true) {
+            long current = s.units.get(i);
+            if (FlatInventory.version(current) > version) {
+                return;
+            }
+            if (s.units.compareAndSet(i, current, next)) {
+                remainingByFlatType.addAndGet(i, remaining - FlatInventory.units(current));
+                return;
+            }
+        }
+    }
+}
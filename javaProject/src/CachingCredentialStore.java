@@ -0,0 +1,124 @@
+// CachingCredentialStore.java
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Remembers successful verifications for a short time, so a user who logs
+ * in repeatedly (or many sessions of one user at peak) pays the KDF once
+ * per TTL instead of on every attempt.
+ *
+ * Entries are keyed by the stored credential and hold an HMAC of the
+ * password under a random per-process key, never the password itself.
+ * Only successes are cached; a wrong password always reaches the KDF.
+ */
+public class CachingCredentialStore implements CredentialStore {
+    static final CachingCredentialStore DEFAULT =
+        new CachingCredentialStore(new Pbkdf2CredentialStore(), Duration.ofMinutes(5), 100_000);
+
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    private final CredentialStore delegate;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Map<String, Entry> verified = new ConcurrentHashMap<>();
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> mac;
+
+    private static final class Entry {
+        final byte[] tag;
+        final long expiresAt;
+
+        Entry(byte[] tag, long expiresAt) {
+            this.tag       = tag;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * @param delegate    the store doing the real work
+     * @param ttl         how long a successful verification is remembered
+     * @param maxEntries  cache size above which expired entries are purged
+     */
+    public CachingCredentialStore(CredentialStore delegate, Duration ttl, int maxEntries) {
+        this.delegate   = delegate;
+        this.ttlNanos   = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, MAC_ALGORITHM);
+        this.mac = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /** The new credential is remembered as verified, so a rehash on login stays cached. */
+    @Override
+    public String hash(String password) {
+        String stored = delegate.hash(password);
+        remember(stored, tag(password), System.nanoTime());
+        return stored;
+    }
+
+    @Override
+    public boolean verify(String password, String stored) {
+        if (password == null || stored == null) {
+            return false;
+        }
+        byte[] tag = tag(password);
+        long now = System.nanoTime();
+        Entry e = verified.get(stored);
+        if (e != null && now - e.expiresAt < 0 && MessageDigest.isEqual(e.tag, tag)) {
+            return true;
+        }
+        if (!delegate.verify(password, stored)) {
+            return false;
+        }
+        remember(stored, tag, now);
+        return true;
+    }
+
+    @Override
+    public boolean isHashed(String stored) {
+        return delegate.isHashed(stored);
+    }
+
+    @Override
+    public boolean needsRehash(String stored) {
+        return delegate.needsRehash(stored);
+    }
+
+    /** Forget all remembered verifications. */
+    public void clear() {
+        verified.clear();
+    }
+
+    private void remember(String stored, byte[] tag, long now) {
+        if (verified.size() >= maxEntries) {
+            verified.values().removeIf(old -> now - old.expiresAt >= 0);
+            if (verified.size() >= maxEntries) {
+                verified.clear();
+            }
+        }
+        verified.put(stored, new Entry(tag, now + ttlNanos));
+    }
+
+    private byte[] tag(String password) {
+        return mac.get().doFinal(password.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac m = Mac.getInstance(MAC_ALGORITHM);
+            m.init(key);
+            return m;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(MAC_ALGORITHM + " unavailable", e);
+        }
+    }
+}
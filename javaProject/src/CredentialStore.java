@@ -0,0 +1,32 @@
+// CredentialStore.java
+
+/**
+ * Turns passwords into stored credentials and checks them.
+ *
+ * A stored credential is whatever {@link User#getPassword()} holds: a
+ * hash produced by {@link #hash}, or a legacy plaintext password from
+ * before hashing was introduced, which {@link #verify} still accepts
+ * until it is replaced on the next successful login.
+ */
+public interface CredentialStore {
+
+    /** @return a new salted credential for {@code password}. */
+    String hash(String password);
+
+    /** @return true if {@code password} matches the {@code stored} credential. */
+    boolean verify(String password, String stored);
+
+    /** @return true if {@code stored} is a hash, false for a legacy plaintext password. */
+    boolean isHashed(String stored);
+
+    /**
+     * @return true if {@code stored} should be replaced by a fresh
+     *         {@link #hash} after it verifies (legacy or below current cost).
+     */
+    boolean needsRehash(String stored);
+
+    /** @return the store used by login and the user file: PBKDF2 behind a short-lived cache. */
+    static CredentialStore defaultStore() {
+        return CachingCredentialStore.DEFAULT;
+    }
+}
@@ -0,0 +1,95 @@
+// CsvCodec.java
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal CSV field encoding shared by the file-backed repositories.
+ *
+ * Fields containing a comma or double quote are wrapped in quotes with
+ * embedded quotes doubled.  Line breaks are replaced by spaces so every
+ * record stays on one line.  A null field is written as an empty string.
+ */
+public final class CsvCodec {
+    private CsvCodec() {
+    }
+
+    /** Encode the given fields as one CSV line (without a line terminator). */
+    public static String encode(String... fields) {
+        StringBuilder sb = new StringBuilder(fields.length * 12);
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            appendField(sb, fields[i]);
+        }
+        return sb.toString();
+    }
+
+    /** Append a single encoded field to {@code sb}. */
+    public static void appendField(StringBuilder sb, String field) {
+        if (field == null || field.isEmpty()) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                quote = true;
+                break;
+            }
+        }
+        if (!quote) {
+            sb.append(field);
+            return;
+        }
+        sb.append('"');
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == '"') {
+                sb.append("\"\"");
+            } else if (c == '\n' || c == '\r') {
+                sb.append(' ');
+            } else {
+                sb.append(c);
+            }
+        }
+        sb.append('"');
+    }
+
+    /** Split one CSV line into its fields, undoing {@link #encode}. */
+    public static String[] decode(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder cur = new StringBuilder();
+        boolean inQuotes = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (inQuotes) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        cur.append('"');
+                        i++;
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    cur.append(c);
+                }
+            } else if (c == '"') {
+                inQuotes = true;
+            } else if (c == ',') {
+                fields.add(cur.toString());
+                cur.setLength(0);
+            } else {
+                cur.append(c);
+            }
+        }
+        fields.add(cur.toString());
+        return fields.toArray(new String[0]);
+    }
+
+    /** @return null for an empty field, otherwise the field itself. */
+    public static String emptyToNull(String field) {
+        return field == null || field.isEmpty() ? null : field;
+    }
+}
@@ -1,20 +1,104 @@
 // CsvProjectRepository.java
 
+import enums.ApplicationStatus;
+import enums.EnquiryStatus;
+import enums.FlatType;
+import enums.RegistrationStatus;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * A CSV‐backed implementation of ProjectRepository.
- * For now, this stub just keeps projects in memory; hook up your file I/O as needed.
+ *
+ * On-disk layout, next to the projects file (e.g. {@code projects.csv}):
+ * <ul>
+ *   <li>{@code projects.csv} – snapshot of all project rows</li>
+ *   <li>{@code projects-data/<projectID>.csv} – snapshot of one project's
+ *       applications (APP), enquiries (ENQ) and officer registrations (REG)</li>
+ *   <li>{@code projects.csv.log} – append log of records changed since the
+ *       last compaction, written in batches terminated by a COMMIT line</li>
+ *   <li>{@code projects.csv.owners} – "NRIC,projectID" for every project
+ *       holding a user's applications, enquiries or officer registrations,
+ *       as of the last compaction</li>
+ *   <li>{@code projects.csv.booked} – ID of every project holding a BOOKED
+ *       application, as of the last compaction</li>
+ * </ul>
+ * Project rows are loaded eagerly; a project's child records are only read
+ * the first time they are accessed, or when {@link #loadRecordsOf} asks for
+ * one user's records at login, or {@link #loadBookings} for the projects
+ * with bookings.  saveAll appends just the records that
+ * differ from what was last written, and the log is folded back into the
+ * snapshots once it grows past {@link #COMPACT_AFTER_RECORDS}.  Snapshot
+ * files are always replaced via a temp file and an atomic rename.
+ *
+ * The project list is copy-on-write so concurrent sessions can list,
+ * add and remove projects without further locking.
  */
 public class CsvProjectRepository implements ProjectRepository {
-    private final String filePath;
-    private List<Project> cache;
+    private static final String HEADER =
+        "projectID,projectName,neighborhood,twoRoomUnits,threeRoomUnits,"
+        + "openingDate,closingDate,managerNRIC,officerSlots,visible";
+    private static final String COMMIT = "COMMIT";
+    private static final int COMPACT_AFTER_RECORDS = 10_000;
+
+    private final Path snapshotFile;
+    private final Path logFile;
+    private final Path ownersFile;
+    private final Path bookedFile;
+    private final Path childDir;
+    private final UserRepository userRepo;
+    private volatile List<Project> cache;
+
+    // Last persisted encoding of every record, so saveAll only appends differences.
+    private final Map<String, String> writtenProjects = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, String>> writtenChildren = new ConcurrentHashMap<>();
+    // Logged child records waiting for their project to be loaded.
+    private final Map<String, List<String[]>> pendingChildLog = new ConcurrentHashMap<>();
+    // Projects with child records in the log since the last compaction.
+    private final Set<String> loggedProjects = ConcurrentHashMap.newKeySet();
+    private final Set<String> deletedProjects = ConcurrentHashMap.newKeySet();
+    // Rows whose manager could not be resolved; kept verbatim so compaction never drops them.
+    private final Map<String, String> unresolvedRows = new LinkedHashMap<>();
+    // User NRIC → projects with their applications, enquiries or registrations; may name extra projects.
+    private final Map<String, Set<String>> projectsByUser = new ConcurrentHashMap<>();
+    // Projects with a BOOKED application; may name extra projects.
+    private final Set<String> bookedProjects = ConcurrentHashMap.newKeySet();
+    private int logRecords;
+    private volatile String writtenSequences = "";
 
-    public CsvProjectRepository(String filePath) {
-        this.filePath = filePath;
-        // TODO: load from CSV file into `cache`
-        this.cache = new ArrayList<>();
+    public CsvProjectRepository(String filePath, UserRepository userRepo) {
+        this.snapshotFile = Path.of(filePath);
+        this.logFile      = Path.of(filePath + ".log");
+        this.ownersFile   = Path.of(filePath + ".owners");
+        this.bookedFile   = Path.of(filePath + ".booked");
+        String name = snapshotFile.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        this.childDir     = snapshotFile.resolveSibling((dot > 0 ? name.substring(0, dot) : name) + "-data");
+        this.userRepo     = userRepo;
+        load();
     }
 
     @Override
@@ -32,9 +116,632 @@ public class CsvProjectRepository implements ProjectRepository {
         return null;
     }
 
+    /**
+     * Load the children of every project holding an application, enquiry
+     * or officer registration of {@code nric}, which links the user to them.
+     */
+    @Override
+    public void loadRecordsOf(String nric) {
+        List<Project> owning = new ArrayList<>();
+        for (String pid : projectsByUser.getOrDefault(nric, Set.of())) {
+            Project p = findById(pid);
+            if (p != null) {
+                owning.add(p);
+            }
+        }
+        Project.ensureChildrenLoaded(owning);
+    }
+
+    /** Load the children of every project holding a booked application. */
+    @Override
+    public void loadBookings() {
+        List<Project> booking = new ArrayList<>();
+        for (String pid : bookedProjects) {
+            Project p = findById(pid);
+            if (p != null) {
+                booking.add(p);
+            }
+        }
+        Project.ensureChildrenLoaded(booking);
+    }
+
+    /**
+     * Append every project, application, enquiry and registration that
+     * changed since the last save to the log, then compact if it is long.
+     * Child records of projects that were never loaded are unchanged by
+     * definition and are skipped.
+     * @return false if the log could not be written; a failed compaction
+     *         still returns true, as the log keeps every record
+     */
     @Override
-    public void saveAll(List<Project> projects) {
-        this.cache = projects;
-        // TODO: write `projects` back to CSV at filePath
+    public synchronized boolean saveAll(List<Project> projects) {
+        this.cache = projects instanceof CopyOnWriteArrayList
+            ? projects
+            : new CopyOnWriteArrayList<>(projects);
+        List<String> lines = new ArrayList<>();
+        Map<String, String> newProjectRows = new HashMap<>();
+        Map<String, Map<String, String>> newChildren = new HashMap<>();
+        Set<String> live = new HashSet<>();
+
+        for (Project p : projects) {
+            String pid = p.getProjectID();
+            live.add(pid);
+            String row = encodeProject(p);
+            if (!row.equals(writtenProjects.get(pid))) {
+                lines.add("PRJ," + row);
+                newProjectRows.put(pid, row);
+            }
+            if (!p.isChildrenLoaded()) {
+                continue;
+            }
+            Map<String, String> current = encodeChildren(p);
+            Map<String, String> before = writtenChildren.getOrDefault(pid, Map.of());
+            boolean changed = false;
+            for (Map.Entry<String, String> e : current.entrySet()) {
+                if (!e.getValue().equals(before.get(e.getKey()))) {
+                    lines.add(e.getValue());
+                    changed = true;
+                }
+            }
+            for (String key : before.keySet()) {
+                if (!current.containsKey(key)) {
+                    int colon = key.indexOf(':');
+                    lines.add(CsvCodec.encode("DEL", pid, key.substring(0, colon), key.substring(colon + 1)));
+                    changed = true;
+                }
+            }
+            if (changed) {
+                newChildren.put(pid, current);
+                indexRecords(p);
+            }
+        }
+        List<String> removed = new ArrayList<>();
+        for (String pid : writtenProjects.keySet()) {
+            if (!live.contains(pid)) {
+                lines.add(CsvCodec.encode("DELPRJ", pid));
+                removed.add(pid);
+            }
+        }
+        String sequences = encodeSequences();
+        if (!sequences.equals(writtenSequences)) {
+            lines.add(sequences);
+        }
+        if (lines.isEmpty()) {
+            return true;
+        }
+
+        try {
+            appendToLog(lines);
+        } catch (IOException e) {
+            System.err.println("Error writing project log: " + e.getMessage());
+            return false;
+        }
+        logRecords += lines.size();
+        writtenProjects.putAll(newProjectRows);
+        writtenChildren.putAll(newChildren);
+        loggedProjects.addAll(newChildren.keySet());
+        for (String pid : removed) {
+            writtenProjects.remove(pid);
+            writtenChildren.remove(pid);
+            loggedProjects.remove(pid);
+            deletedProjects.add(pid);
+        }
+        writtenSequences = sequences;
+
+        if (logRecords >= COMPACT_AFTER_RECORDS) {
+            compact();
+        }
+        return true;
+    }
+
+    /**
+     * Fold the log into the snapshot files: rewrite the project snapshot,
+     * the child files of every project touched by the log, and finally
+     * replace the log with one holding only the ID sequences.
+     * @return false if any file could not be written; the log is then left as it was
+     */
+    public synchronized boolean compact() {
+        try {
+            for (Project p : cache) {
+                String pid = p.getProjectID();
+                if (loggedProjects.contains(pid) || pendingChildLog.containsKey(pid)) {
+                    writeAtomically(childFile(pid), encodeChildren(p).values());
+                }
+            }
+            // Logged records of projects not in the cache (unresolved rows) are
+            // folded into their child files, as the log is about to be replaced.
+            Map<String, List<String[]>> unloaded = new HashMap<>(pendingChildLog);
+            unloaded.keySet().removeAll(deletedProjects);
+            for (Map.Entry<String, List<String[]>> e : unloaded.entrySet()) {
+                List<String> lines = new ArrayList<>();
+                Map<String, String[]> records = readChildFile(e.getKey());
+                applyLogged(records, e.getValue());
+                for (String[] f : records.values()) {
+                    lines.add(CsvCodec.encode(f));
+                }
+                writeAtomically(childFile(e.getKey()), lines);
+            }
+            for (String pid : deletedProjects) {
+                Files.deleteIfExists(childFile(pid));
+            }
+
+            List<String> rows = new ArrayList<>(cache.size() + unresolvedRows.size() + 1);
+            rows.add(HEADER);
+            for (Project p : cache) {
+                rows.add(encodeProject(p));
+            }
+            rows.addAll(unresolvedRows.values());
+            writeAtomically(snapshotFile, rows);
+            writeAtomically(ownersFile, encodeOwners());
+            writeAtomically(bookedFile, encodeBooked());
+
+            writtenSequences = encodeSequences();
+            writeAtomically(logFile, List.of(writtenSequences, COMMIT));
+            loggedProjects.clear();
+            deletedProjects.clear();
+            pendingChildLog.keySet().removeAll(unloaded.keySet());
+            logRecords = 1;
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error compacting project data: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // ─── Loading ────────────────────────────────────────────────────────────
+
+    private void load() {
+        Map<String, String[]> rows = new LinkedHashMap<>();
+        try {
+            if (Files.exists(snapshotFile)) {
+                for (String line : Files.readAllLines(snapshotFile, StandardCharsets.UTF_8)) {
+                    String trimmed = line.trim();
+                    if (trimmed.isEmpty()
+                            || trimmed.startsWith("#")
+                            || trimmed.toLowerCase().startsWith("projectid,")) {
+                        continue;
+                    }
+                    String[] f = CsvCodec.decode(trimmed);
+                    if (f.length < 9) {
+                        System.err.println("Skipping malformed project record: " + trimmed);
+                        continue;
+                    }
+                    rows.put(f[0], f);
+                }
+            }
+            loadIndexes();
+            replayLog(rows);
+        } catch (IOException e) {
+            System.err.println("Error reading project data: " + e.getMessage());
+        }
+
+        List<Project> loaded = new ArrayList<>(rows.size());
+        for (String[] f : rows.values()) {
+            Project p = toProject(f);
+            if (p == null) {
+                unresolvedRows.put(f[0], CsvCodec.encode(f));
+                continue;
+            }
+            loaded.add(p);
+            p.getManagerInCharge().attachProject(p);
+            writtenProjects.put(p.getProjectID(), encodeProject(p));
+            p.setChildLoader(() -> loadChildren(p), () -> childrenLoaded(p));
+            DomainEvents.projectAdded(p);
+        }
+        cache = new CopyOnWriteArrayList<>(loaded);
+        // IDs in the snapshot and log are already reserved by what was just read.
+        writtenSequences = encodeSequences();
+        System.out.println("Finished reading projects. Count: " + cache.size());
+    }
+
+    /** Apply committed log batches on top of the snapshot rows; an unterminated tail is ignored. */
+    private void replayLog(Map<String, String[]> rows) throws IOException {
+        if (!Files.exists(logFile)) {
+            return;
+        }
+        List<String[]> batch = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(logFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                if (!line.equals(COMMIT)) {
+                    batch.add(CsvCodec.decode(line));
+                    continue;
+                }
+                for (String[] f : batch) {
+                    applyLogRecord(rows, f);
+                }
+                logRecords += batch.size();
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            System.err.println("Ignoring " + batch.size() + " uncommitted project log records");
+        }
+    }
+
+    private void applyLogRecord(Map<String, String[]> rows, String[] f) {
+        switch (f[0]) {
+            case "PRJ":
+                rows.put(f[1], Arrays.copyOfRange(f, 1, f.length));
+                break;
+            case "DELPRJ":
+                rows.remove(f[1]);
+                pendingChildLog.remove(f[1]);
+                loggedProjects.remove(f[1]);
+                deletedProjects.add(f[1]);
+                break;
+            case "SEQ":
+                Enquiry.reserveIdsThrough(Integer.parseInt(f[1]) - 1);
+                OfficerRegistration.reserveIdsThrough(Integer.parseInt(f[2]) - 1);
+                if (f.length > 3) {  // absent in logs written before application IDs were sequenced
+                    Application.reserveIdsThrough(Long.parseLong(f[3]) - 1);
+                }
+                writtenSequences = CsvCodec.encode(f);
+                break;
+            default:  // APP, ENQ, REG, DEL – applied when the project is loaded
+                pendingChildLog.computeIfAbsent(f[1], k -> new ArrayList<>()).add(f);
+                loggedProjects.add(f[1]);
+                indexRecord(f);
+        }
+    }
+
+    /**
+     * Read the user → project and booked project indexes; without them
+     * (data from before they existed), build them by scanning every child
+     * file once.
+     */
+    private void loadIndexes() throws IOException {
+        if (Files.exists(ownersFile) && Files.exists(bookedFile)) {
+            for (String line : Files.readAllLines(ownersFile, StandardCharsets.UTF_8)) {
+                if (!line.isEmpty()) {
+                    String[] f = CsvCodec.decode(line);
+                    addOwner(f[0], f[1]);
+                }
+            }
+            for (String line : Files.readAllLines(bookedFile, StandardCharsets.UTF_8)) {
+                if (!line.isEmpty()) {
+                    bookedProjects.add(line);
+                }
+            }
+            return;
+        }
+        if (!Files.isDirectory(childDir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(childDir, "*.csv")) {
+            for (Path file : files) {
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    if (!line.isEmpty()) {
+                        indexRecord(CsvCodec.decode(line));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Index the applicant of an APP or ENQ record, or the officer of a REG
+     * record, against its project, and note the project if an APP is booked.
+     */
+    private void indexRecord(String[] f) {
+        if ((f[0].equals("APP") || f[0].equals("ENQ") || f[0].equals("REG")) && f.length > 3) {
+            addOwner(f[3], f[1]);
+        }
+        if (f[0].equals("APP") && f.length > 6 && f[6].equals(ApplicationStatus.BOOKED.name())) {
+            bookedProjects.add(f[1]);
+        }
+    }
+
+    private void indexRecords(Project p) {
+        boolean booked = false;
+        for (Application a : p.getApplications()) {
+            addOwner(a.getApplicant().getNric(), p.getProjectID());
+            booked |= a.getStatus() == ApplicationStatus.BOOKED;
+        }
+        for (Enquiry e : p.getEnquiries()) {
+            addOwner(e.getApplicant().getNric(), p.getProjectID());
+        }
+        for (OfficerRegistration r : p.getOfficerRegistrations()) {
+            addOwner(r.getOfficer().getNric(), p.getProjectID());
+        }
+        if (booked) {
+            bookedProjects.add(p.getProjectID());
+        } else {
+            bookedProjects.remove(p.getProjectID());
+        }
+    }
+
+    private void addOwner(String nric, String projectID) {
+        projectsByUser.computeIfAbsent(nric, k -> ConcurrentHashMap.newKeySet()).add(projectID);
+    }
+
+    private Project toProject(String[] f) {
+        User manager = userRepo.findByNric(f[7].trim());
+        if (!(manager instanceof HDBManager)) {
+            System.err.println("Unknown manager " + f[7] + " for project " + f[0] + "; keeping row unloaded");
+            return null;
+        }
+        try {
+            Project p = new Project(
+                f[0].trim(), f[1].trim(), f[2].trim(),
+                Integer.parseInt(f[3].trim()),
+                Integer.parseInt(f[4].trim()),
+                LocalDate.parse(f[5].trim()),
+                LocalDate.parse(f[6].trim()),
+                (HDBManager) manager,
+                Integer.parseInt(f[8].trim())
+            );
+            if (f.length > 9 && f[9].trim().equalsIgnoreCase("false")) {
+                p.toggleVisibility();
+            }
+            return p;
+        } catch (RuntimeException e) {
+            System.err.println("Invalid project record " + f[0] + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /** Runs on first access to a project's children: snapshot file, then its logged changes. */
+    private void loadChildren(Project p) {
+        String pid = p.getProjectID();
+        String sequencesBefore = encodeSequences();
+        Map<String, String[]> records;
+        try {
+            records = readChildFile(pid);
+        } catch (IOException e) {
+            System.err.println("Error reading data for project " + pid + ": " + e.getMessage());
+            records = new LinkedHashMap<>();
+        }
+        applyLogged(records, pendingChildLog.get(pid));
+
+        int skipped = 0;
+        for (String[] f : records.values()) {
+            try {
+                if (!restoreChild(p, f)) {
+                    skipped++;
+                }
+            } catch (RuntimeException e) {
+                skipped++;
+            }
+        }
+        if (skipped > 0) {
+            System.err.println("Skipped " + skipped + " unreadable records for project " + pid);
+        }
+        // Restored IDs raise the sequences, but the records themselves are already on disk.
+        if (writtenSequences.equals(sequencesBefore)) {
+            writtenSequences = encodeSequences();
+        }
+    }
+
+    /** Runs once the loaded children are in the project's lists: they are what is on disk. */
+    private void childrenLoaded(Project p) {
+        writtenChildren.put(p.getProjectID(), encodeChildren(p));
+        pendingChildLog.remove(p.getProjectID());
+    }
+
+    /** @return "TYPE:id" → fields of every record in the project's child file. */
+    private Map<String, String[]> readChildFile(String pid) throws IOException {
+        Map<String, String[]> records = new LinkedHashMap<>();
+        Path file = childFile(pid);
+        if (Files.exists(file)) {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (!line.isEmpty()) {
+                    String[] f = CsvCodec.decode(line);
+                    records.put(f[0] + ":" + f[2], f);
+                }
+            }
+        }
+        return records;
+    }
+
+    /** Apply logged child records (or their DEL) on top of {@code records}. */
+    private static void applyLogged(Map<String, String[]> records, List<String[]> logged) {
+        if (logged != null) {
+            for (String[] f : logged) {
+                if (f[0].equals("DEL")) {
+                    records.remove(f[2] + ":" + f[3]);
+                } else {
+                    records.put(f[0] + ":" + f[2], f);
+                }
+            }
+        }
+    }
+
+    private boolean restoreChild(Project p, String[] f) {
+        switch (f[0]) {
+            case "APP": {
+                if (!(userRepo.findByNric(f[3]) instanceof Applicant)) {
+                    return false;
+                }
+                Applicant applicant = (Applicant) userRepo.findByNric(f[3]);
+                Application app = new Application(
+                    f[2], applicant, p,
+                    FlatType.valueOf(f[4]),
+                    LocalDate.parse(f[5]),
+                    ApplicationStatus.valueOf(f[6]),
+                    Boolean.parseBoolean(f[7])
+                );
+                p.addApplication(app);
+                applicant.restoreApplication(app);
+                DomainEvents.applicationLoaded(app);
+                return true;
+            }
+            case "ENQ": {
+                if (!(userRepo.findByNric(f[3]) instanceof Applicant)) {
+                    return false;
+                }
+                String replyDate = CsvCodec.emptyToNull(f[7]);
+                new Enquiry(
+                    Integer.parseInt(f[2]),
+                    (Applicant) userRepo.findByNric(f[3]),
+                    p,
+                    f[4],
+                    LocalDateTime.parse(f[5]),
+                    CsvCodec.emptyToNull(f[6]),
+                    replyDate == null ? null : LocalDateTime.parse(replyDate),
+                    userRepo.findByNric(f[8]),
+                    EnquiryStatus.valueOf(f[9])
+                );
+                return true;
+            }
+            case "REG": {
+                User officer = userRepo.findByNric(f[3]);
+                if (officer == null) {
+                    return false;
+                }
+                p.addOfficerRegistration(new OfficerRegistration(
+                    Integer.parseInt(f[2]), p, officer, RegistrationStatus.valueOf(f[4])));
+                return true;
+            }
+            default:
+                return false;
+        }
+    }
+
+    // ─── Encoding ───────────────────────────────────────────────────────────
+
+    private static String encodeProject(Project p) {
+        return CsvCodec.encode(
+            p.getProjectID(),
+            p.getProjectName(),
+            p.getNeighborhood(),
+            Integer.toString(p.getTwoRoomUnits()),
+            Integer.toString(p.getThreeRoomUnits()),
+            p.getApplicationOpeningDate().toString(),
+            p.getApplicationClosingDate().toString(),
+            p.getManagerInCharge().getNric(),
+            Integer.toString(p.getAvailableOfficerSlots()),
+            Boolean.toString(p.isVisible())
+        );
+    }
+
+    /** @return "TYPE:id" → encoded line for every child record of {@code p}, in list order. */
+    private static Map<String, String> encodeChildren(Project p) {
+        String pid = p.getProjectID();
+        Map<String, String> out = new LinkedHashMap<>();
+        for (Application a : p.getApplications()) {
+            out.put("APP:" + a.getApplicationID(), CsvCodec.encode(
+                "APP", pid,
+                a.getApplicationID(),
+                a.getApplicant().getNric(),
+                a.getFlatTypeChosen().name(),
+                a.getApplicationDate().toString(),
+                a.getStatus().name(),
+                Boolean.toString(a.isWithdrawalRequested())
+            ));
+        }
+        for (Enquiry e : p.getEnquiries()) {
+            out.put("ENQ:" + e.getEnquiryID(), CsvCodec.encode(
+                "ENQ", pid,
+                Integer.toString(e.getEnquiryID()),
+                e.getApplicant().getNric(),
+                e.getEnquiryText(),
+                e.getDateSubmitted().toString(),
+                e.getReplyText(),
+                e.getReplyDate() == null ? null : e.getReplyDate().toString(),
+                e.getRepliedBy() == null ? null : e.getRepliedBy().getNric(),
+                e.getStatus().name()
+            ));
+        }
+        for (OfficerRegistration r : p.getOfficerRegistrations()) {
+            out.put("REG:" + r.getId(), CsvCodec.encode(
+                "REG", pid,
+                Integer.toString(r.getId()),
+                r.getOfficer().getNric(),
+                r.getStatus().name()
+            ));
+        }
+        return out;
+    }
+
+    /** @return one "NRIC,projectID" line per indexed pair whose project still exists. */
+    private List<String> encodeOwners() {
+        Set<String> live = new HashSet<>(unresolvedRows.keySet());
+        for (Project p : cache) {
+            live.add(p.getProjectID());
+        }
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<String, Set<String>> e : projectsByUser.entrySet()) {
+            for (String pid : e.getValue()) {
+                if (live.contains(pid)) {
+                    lines.add(CsvCodec.encode(e.getKey(), pid));
+                }
+            }
+        }
+        return lines;
+    }
+
+    /** @return one line per booked project that still exists. */
+    private List<String> encodeBooked() {
+        Set<String> live = new HashSet<>(unresolvedRows.keySet());
+        for (Project p : cache) {
+            live.add(p.getProjectID());
+        }
+        List<String> lines = new ArrayList<>();
+        for (String pid : bookedProjects) {
+            if (live.contains(pid)) {
+                lines.add(pid);
+            }
+        }
+        return lines;
+    }
+
+    private static String encodeSequences() {
+        return CsvCodec.encode(
+            "SEQ",
+            Integer.toString(Enquiry.peekNextId()),
+            Integer.toString(OfficerRegistration.peekNextId()),
+            Long.toString(Application.peekNextId())
+        );
+    }
+
+    // ─── File helpers ───────────────────────────────────────────────────────
+
+    private Path childFile(String projectID) {
+        return childDir.resolve(projectID + ".csv");
+    }
+
+    private void appendToLog(List<String> lines) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (String line : lines) {
+            sb.append(line).append('\n');
+        }
+        sb.append(COMMIT).append('\n');
+        try (FileChannel ch = FileChannel.open(logFile,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            writeFully(ch, sb.toString());
+            ch.force(false);
+        }
+    }
+
+    /** Write {@code lines} to a temp file, fsync it, then rename it over {@code target}. */
+    private static void writeAtomically(Path target, Collection<String> lines) throws IOException {
+        Path parent = target.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = parent.resolve(target.getFileName() + ".tmp");
+        StringBuilder sb = new StringBuilder();
+        for (String line : lines) {
+            sb.append(line).append('\n');
+        }
+        try (FileChannel ch = FileChannel.open(tmp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(ch, sb.toString());
+            ch.force(true);
+        }
+        try {
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void writeFully(FileChannel ch, String content) throws IOException {
+        ByteBuffer buf = ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+        while (buf.hasRemaining()) {
+            ch.write(buf);
+        }
     }
 }
@@ -1,39 +1,83 @@
 // CsvUserRepository.java
 
+import enums.MaritalStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * CSV‐based implementation, delegating to your existing UserFileHandler.
+ *
+ * Keeps a hash index on NRIC (the primary key) plus secondary indexes by
+ * role and marital status, so lookups never scan the full user list.
+ * The indexes are rebuilt from the cache on load and on every saveAll.
  */
 public class CsvUserRepository implements UserRepository {
     private final UserFileHandler fileHandler;
-    private List<User> cache;
+    private volatile List<User> cache;
+
+    // Replaced wholesale on reindex, so concurrent sessions always see a complete index.
+    private volatile Map<String, User> byNric;
+    private volatile Map<Class<? extends User>, List<User>> byRole;
+    private volatile Map<MaritalStatus, List<User>> byMaritalStatus;
 
     public CsvUserRepository(String filePath) {
         this.fileHandler = new UserFileHandler(filePath);
-        this.cache       = fileHandler.readUserData();
+        this.cache       = fileHandler.readUserDataParallel().getUsers();
+        reindex();
     }
 
     @Override
     public User findByNric(String nric) {
-        for (User u : cache) {
-            if (u.getNric().equals(nric)) {
-                return u;
-            }
-        }
-        return null;
+        return nric == null ? null : byNric.get(nric);
+    }
+
+    @Override
+    public List<User> findByRole(Class<? extends User> role) {
+        return byRole.getOrDefault(role, Collections.emptyList());
+    }
+
+    @Override
+    public List<User> findByMaritalStatus(MaritalStatus maritalStatus) {
+        return byMaritalStatus.getOrDefault(maritalStatus, Collections.emptyList());
     }
 
     @Override
     public List<User> findAll() {
         return cache;
-        
+
     }
 
     @Override
-    public void saveAll(List<User> users) {
+    public synchronized void saveAll(List<User> users) {
         this.cache = users;
+        reindex();
         fileHandler.writeUserData(users);
     }
-}
 
+    /**
+     * Rebuild all indexes from the current cache.  On a duplicate NRIC the
+     * first row wins, matching the old front-to-back scan.
+     */
+    private void reindex() {
+        Map<String, User> nricIndex = new HashMap<>(Math.max(16, cache.size() * 4 / 3 + 1));
+        Map<Class<? extends User>, List<User>> roleIndex = new HashMap<>();
+        Map<MaritalStatus, List<User>> statusIndex = new EnumMap<>(MaritalStatus.class);
+
+        for (User u : cache) {
+            nricIndex.putIfAbsent(u.getNric(), u);
+            roleIndex.computeIfAbsent(u.getClass(), k -> new ArrayList<>()).add(u);
+            statusIndex.computeIfAbsent(u.getMaritalStatus(), k -> new ArrayList<>()).add(u);
+        }
+        roleIndex.replaceAll((k, v) -> Collections.unmodifiableList(v));
+        statusIndex.replaceAll((k, v) -> Collections.unmodifiableList(v));
+
+        this.byNric          = nricIndex;
+        this.byRole          = roleIndex;
+        this.byMaritalStatus = statusIndex;
+    }
+}
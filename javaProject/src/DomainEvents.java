@@ -0,0 +1,129 @@
+// DomainEvents.java
+
+import enums.ApplicationStatus;
+import enums.FlatType;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Process-wide registry of {@link DomainListener}s.
+ * Domain classes publish through the package-private methods; wiring code
+ * (Main) registers the listeners it needs.
+ */
+public final class DomainEvents {
+    private static final List<DomainListener> LISTENERS = new CopyOnWriteArrayList<>();
+    private static final ThreadLocal<int[]> BATCH_DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    private DomainEvents() {
+    }
+
+    public static void register(DomainListener listener) {
+        LISTENERS.add(listener);
+    }
+
+    public static void unregister(DomainListener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    /**
+     * Start a batch on this thread: listeners may defer work for the
+     * following events until the matching {@link #endBatch}.  Batches nest.
+     */
+    static void beginBatch() {
+        BATCH_DEPTH.get()[0]++;
+    }
+
+    /** End the innermost batch; closing the outermost one notifies every listener. */
+    static void endBatch() {
+        int[] depth = BATCH_DEPTH.get();
+        if (--depth[0] == 0) {
+            for (DomainListener l : LISTENERS) {
+                l.batchFinished();
+            }
+        }
+    }
+
+    /** @return true if this thread is inside a batch. */
+    static boolean inBatch() {
+        return BATCH_DEPTH.get()[0] > 0;
+    }
+
+    static void applicationSubmitted(Application application) {
+        for (DomainListener l : LISTENERS) {
+            l.applicationSubmitted(application);
+        }
+    }
+
+    static void applicationLoaded(Application application) {
+        for (DomainListener l : LISTENERS) {
+            l.applicationLoaded(application);
+        }
+    }
+
+    static void applicationStatusChanged(Application application, ApplicationStatus from) {
+        for (DomainListener l : LISTENERS) {
+            l.applicationStatusChanged(application, from);
+        }
+    }
+
+    static void withdrawalRequested(Application application) {
+        for (DomainListener l : LISTENERS) {
+            l.withdrawalRequested(application);
+        }
+    }
+
+    static void enquiryAdded(Enquiry enquiry) {
+        for (DomainListener l : LISTENERS) {
+            l.enquiryAdded(enquiry);
+        }
+    }
+
+    static void enquiryReplied(Enquiry enquiry) {
+        for (DomainListener l : LISTENERS) {
+            l.enquiryReplied(enquiry);
+        }
+    }
+
+    static void enquiryDeleted(Enquiry enquiry) {
+        for (DomainListener l : LISTENERS) {
+            l.enquiryDeleted(enquiry);
+        }
+    }
+
+    static void officerRegistrationAdded(OfficerRegistration registration) {
+        for (DomainListener l : LISTENERS) {
+            l.officerRegistrationAdded(registration);
+        }
+    }
+
+    static void projectAdded(Project project) {
+        for (DomainListener l : LISTENERS) {
+            l.projectAdded(project);
+        }
+    }
+
+    static void projectRemoved(Project project) {
+        for (DomainListener l : LISTENERS) {
+            l.projectRemoved(project);
+        }
+    }
+
+    static void projectListingChanged(Project project) {
+        for (DomainListener l : LISTENERS) {
+            l.projectListingChanged(project);
+        }
+    }
+
+    static void unitsChanged(Project project, FlatType flatType, int remaining, int version) {
+        for (DomainListener l : LISTENERS) {
+            l.unitsChanged(project, flatType, remaining, version);
+        }
+    }
+
+    static void unitsRestored(Project project, FlatType flatType, int remaining, int version) {
+        for (DomainListener l : LISTENERS) {
+            l.unitsRestored(project, flatType, remaining, version);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+// DomainListener.java
+
+import enums.ApplicationStatus;
+import enums.FlatType;
+
+/**
+ * Callback for state changes in the domain objects.
+ * All methods default to no-ops so listeners only override what they need.
+ * Callbacks run synchronously on the thread that made the change.
+ */
+public interface DomainListener {
+    /** A new application was submitted via {@link Applicant#apply}. */
+    default void applicationSubmitted(Application application) {
+    }
+
+    /**
+     * An application was read back from storage (repository load or journal
+     * replay), or its restored state was overwritten.  Not a new submission.
+     */
+    default void applicationLoaded(Application application) {
+    }
+
+    /** An application moved from {@code from} to its current status. */
+    default void applicationStatusChanged(Application application, ApplicationStatus from) {
+    }
+
+    /** The applicant asked to withdraw {@code application}. */
+    default void withdrawalRequested(Application application) {
+    }
+
+    /** An enquiry was submitted, or read back from storage. */
+    default void enquiryAdded(Enquiry enquiry) {
+    }
+
+    /** An enquiry was answered; it is now {@code Replied}. */
+    default void enquiryReplied(Enquiry enquiry) {
+    }
+
+    /** An enquiry was deleted by its applicant. */
+    default void enquiryDeleted(Enquiry enquiry) {
+    }
+
+    /** An officer registration was added to its project, new or read back from storage. */
+    default void officerRegistrationAdded(OfficerRegistration registration) {
+    }
+
+    /** A project was created, or read back from storage. */
+    default void projectAdded(Project project) {
+    }
+
+    /** A project was deleted together with its applications and enquiries. */
+    default void projectRemoved(Project project) {
+    }
+
+    /** A project's visibility or application period changed. */
+    default void projectListingChanged(Project project) {
+    }
+
+    /**
+     * A project's available units of {@code flatType} changed to {@code remaining}.
+     * {@code version} increases with every change to that counter, so
+     * listeners can order reports that arrive from different threads.
+     */
+    default void unitsChanged(Project project, FlatType flatType, int remaining, int version) {
+    }
+
+    /**
+     * The calling thread finished a batch of changes opened with
+     * {@link DomainEvents#beginBatch}.  Listeners that deferred work for
+     * the batch's events (such as forcing them to disk) finish it now.
+     */
+    default void batchFinished() {
+    }
+
+    /**
+     * A unit counter was overwritten from the journal during recovery.
+     * Like {@link #unitsChanged} but not a new change, so it is not journaled.
+     */
+    default void unitsRestored(Project project, FlatType flatType, int remaining, int version) {
+    }
+}
@@ -0,0 +1,187 @@
+// EligibilityEngine.java
+
+import enums.FlatType;
+import enums.MaritalStatus;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answers "may this applicant apply for this project and flat type?"
+ * from precomputed bitmaps.
+ *
+ * The rules only look at marital status and which side of the age limits
+ * (21 and 35) an applicant is on, so applicants fall into a handful of
+ * classes.  For every class and flat type the engine keeps a bitmap over
+ * today's open projects ({@link OpenProjectIndex}); the matrix is rebuilt
+ * whenever the index reports that the open set changed.  A project the
+ * index does not know about is checked against the rules directly.
+ */
+public class EligibilityEngine {
+    /** Every age the rules in {@link #allows} compare against. */
+    private static final int[] AGE_LIMITS = { 21, 35 };
+    private static final int BANDS = AGE_LIMITS.length + 1;
+    private static final MaritalStatus[] STATUSES = MaritalStatus.values();
+    private static final FlatType[] FLAT_TYPES = FlatType.values();
+    private static final int CLASSES = STATUSES.length * BANDS;
+
+    /** Bit {@code f} of {@code ALLOWED[c]} is set if class {@code c} may apply for flat type {@code f}. */
+    private static final int[] ALLOWED = new int[CLASSES];
+
+    static {
+        for (MaritalStatus status : STATUSES) {
+            for (int band = 0; band < BANDS; band++) {
+                int lowestAge = band == 0 ? 0 : AGE_LIMITS[band - 1];
+                for (FlatType ft : FLAT_TYPES) {
+                    if (allows(status, lowestAge, ft)) {
+                        ALLOWED[classOf(status, band)] |= 1 << ft.ordinal();
+                    }
+                }
+            }
+        }
+    }
+
+    private static final EligibilityEngine SHARED = new EligibilityEngine(OpenProjectIndex.shared());
+
+    /** Today's open projects, numbered, with one bitmap per class and flat type. */
+    private static final class Matrix {
+        final long version;
+        final Project[] projects;
+        final Map<Project, Integer> slots = new IdentityHashMap<>();
+        final BitSet[][] eligible = new BitSet[CLASSES][FLAT_TYPES.length];
+        final BitSet[] eligibleAny = new BitSet[CLASSES];
+
+        Matrix(long version, Collection<Project> open) {
+            this.version  = version;
+            this.projects = open.toArray(new Project[0]);
+            for (int i = 0; i < projects.length; i++) {
+                slots.put(projects[i], i);
+            }
+            for (int c = 0; c < CLASSES; c++) {
+                eligibleAny[c] = new BitSet(projects.length);
+                for (FlatType ft : FLAT_TYPES) {
+                    BitSet bits = new BitSet(projects.length);
+                    if ((ALLOWED[c] & 1 << ft.ordinal()) != 0) {
+                        bits.set(0, projects.length);
+                    }
+                    eligible[c][ft.ordinal()] = bits;
+                    eligibleAny[c].or(bits);
+                }
+            }
+        }
+    }
+
+    private final OpenProjectIndex openProjects;
+    private volatile Matrix matrix;
+
+    public EligibilityEngine(OpenProjectIndex openProjects) {
+        this.openProjects = openProjects;
+    }
+
+    /** @return the engine over the shared open-project index. */
+    public static EligibilityEngine shared() {
+        return SHARED;
+    }
+
+    /**
+     * The eligibility rules themselves:
+     *  - SINGLE ≥ 35 may only apply for Two_Room.
+     *  - MARRIED ≥ 21 may apply for Two_Room or Three_Room.
+     */
+    static boolean allows(MaritalStatus status, int age, FlatType flatType) {
+        if (status == MaritalStatus.SINGLE) {
+            return age >= 35 && flatType == FlatType.Two_Room;
+        } else { // MARRIED
+            return age >= 21
+                && (flatType == FlatType.Two_Room
+                 || flatType == FlatType.Three_Room);
+        }
+    }
+
+    // ─── Queries ────────────────────────────────────────────────────────────
+
+    /** @return true if {@code user} may apply for {@code flatType} in {@code project} today. */
+    public boolean isEligible(User user, Project project, FlatType flatType) {
+        Matrix m = matrix();
+        Integer slot = m.slots.get(project);
+        if (slot == null) {
+            return project.isVisible() && project.isWithinApplicationPeriod()
+                && allows(user.getMaritalStatus(), user.getAge(), flatType);
+        }
+        return m.eligible[classOf(user)][flatType.ordinal()].get(slot);
+    }
+
+    /** @return the open projects {@code user} may apply to for at least one flat type. */
+    public List<Project> findEligible(User user) {
+        Matrix m = matrix();
+        BitSet bits = m.eligibleAny[classOf(user)];
+        List<Project> out = new ArrayList<>(bits.cardinality());
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            out.add(m.projects[i]);
+        }
+        return out;
+    }
+
+    /** @return the users among {@code candidates} who may apply for {@code flatType} in {@code project}. */
+    public <U extends User> List<U> whoCanApply(Project project, FlatType flatType, Collection<U> candidates) {
+        Matrix m = matrix();
+        Integer slot = m.slots.get(project);
+        boolean unindexedOpen = slot == null && project.isVisible() && project.isWithinApplicationPeriod();
+        int classMask = 0;
+        for (int c = 0; c < CLASSES; c++) {
+            boolean ok = slot != null
+                ? m.eligible[c][flatType.ordinal()].get(slot)
+                : unindexedOpen && (ALLOWED[c] & 1 << flatType.ordinal()) != 0;
+            if (ok) {
+                classMask |= 1 << c;
+            }
+        }
+        List<U> out = new ArrayList<>();
+        if (classMask == 0) {
+            return out;
+        }
+        for (U u : candidates) {
+            if ((classMask & 1 << classOf(u)) != 0) {
+                out.add(u);
+            }
+        }
+        return out;
+    }
+
+    // ─── Internals ──────────────────────────────────────────────────────────
+
+    private Matrix matrix() {
+        Matrix m = matrix;
+        long version = openProjects.version();
+        if (m == null || m.version != version) {
+            m = rebuild(version);
+        }
+        return m;
+    }
+
+    private synchronized Matrix rebuild(long version) {
+        Matrix m = matrix;
+        if (m == null || m.version != version) {
+            m = new Matrix(version, openProjects.findOpen());
+            matrix = m;
+        }
+        return m;
+    }
+
+    private static int classOf(User user) {
+        int age = user.getAge();
+        int band = 0;
+        while (band < AGE_LIMITS.length && age >= AGE_LIMITS[band]) {
+            band++;
+        }
+        return classOf(user.getMaritalStatus(), band);
+    }
+
+    private static int classOf(MaritalStatus status, int band) {
+        return status.ordinal() * BANDS + band;
+    }
+}
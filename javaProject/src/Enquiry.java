@@ -1,29 +1,27 @@
 import java.time.LocalDateTime;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import enums.EnquiryStatus;
+import enums.IdSequence;
 
 /**
  * Represents a project enquiry submitted by an applicant.
  */
 public class Enquiry {
-    private static final AtomicInteger ID_GEN = new AtomicInteger(1);
-
     private final int enquiryID;
     private final Applicant applicant;
     private final Project project;
 
-    private String enquiryText;
+    private volatile String enquiryText;
     private final LocalDateTime dateSubmitted;
 
     private String replyText;
     private LocalDateTime replyDate;
     private User repliedBy;
 
-    private EnquiryStatus status;
+    private volatile EnquiryStatus status;
 
     public Enquiry(Applicant applicant, Project project, String enquiryText) {
-        this.enquiryID     = ID_GEN.getAndIncrement();
+        this.enquiryID     = IdAllocator.shared().nextInt(IdSequence.ENQUIRY);
         this.applicant     = applicant;
         this.project       = project;
         this.enquiryText   = enquiryText;
@@ -33,6 +31,46 @@ public class Enquiry {
         // link back into the applicant's list and the project's list
         applicant.getEnquiries().add(this);
         project.addEnquiry(this);
+        DomainEvents.enquiryAdded(this);
+    }
+
+    /**
+     * Restore a persisted enquiry with its original ID and reply state.
+     * Links into the applicant's and project's lists like the public constructor.
+     */
+    Enquiry(int enquiryID,
+            Applicant applicant,
+            Project project,
+            String enquiryText,
+            LocalDateTime dateSubmitted,
+            String replyText,
+            LocalDateTime replyDate,
+            User repliedBy,
+            EnquiryStatus status) {
+        this.enquiryID     = enquiryID;
+        this.applicant     = applicant;
+        this.project       = project;
+        this.enquiryText   = enquiryText;
+        this.dateSubmitted = dateSubmitted;
+        this.replyText     = replyText;
+        this.replyDate     = replyDate;
+        this.repliedBy     = repliedBy;
+        this.status        = status;
+        reserveIdsThrough(enquiryID);
+
+        applicant.getEnquiries().add(this);
+        project.addEnquiry(this);
+        DomainEvents.enquiryAdded(this);
+    }
+
+    /** Make sure freshly created enquiries are numbered after {@code lastUsedID}. */
+    static void reserveIdsThrough(int lastUsedID) {
+        IdAllocator.shared().reserveThrough(IdSequence.ENQUIRY, lastUsedID);
+    }
+
+    /** @return an ID above every enquiry ID handed out so far. */
+    static int peekNextId() {
+        return Math.toIntExact(IdAllocator.shared().peekHighWater(IdSequence.ENQUIRY));
     }
 
     public int getEnquiryID() {
@@ -72,7 +110,7 @@ public class Enquiry {
     }
 
     /** Edit the enquiry text. */
-    public void edit(String newText) {
+    public synchronized void edit(String newText) {
         if (status == EnquiryStatus.Replied) {
             throw new IllegalStateException("Cannot edit after a reply");
         }
@@ -80,7 +118,7 @@ public class Enquiry {
     }
 
     /** Reply to this enquiry. */
-    public void reply(String replyText, User replier) {
+    public synchronized void reply(String replyText, User replier) {
         if (status == EnquiryStatus.Replied) {
             throw new IllegalStateException("Already replied");
         }
@@ -88,12 +126,15 @@ public class Enquiry {
         this.replyDate   = LocalDateTime.now();
         this.repliedBy   = replier;
         this.status      = EnquiryStatus.Replied;
+        DomainEvents.enquiryReplied(this);
     }
 
     /** Delete this enquiry from both applicant and project. */
     public void delete() {
         applicant.getEnquiries().remove(this);
-        project.getEnquiries().remove(this);
+        if (project.removeEnquiry(this)) {
+            DomainEvents.enquiryDeleted(this);
+        }
     }
 
     @Override
@@ -0,0 +1,147 @@
+// EnquiryInbox.java
+
+import enums.EnquiryStatus;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Process-wide index of enquiries: per project a pending and a replied
+ * queue, and per applicant the enquiries they have made, keyed by
+ * enquiry ID.
+ *
+ * Kept current through {@link DomainEvents}: enquiries submitted or read
+ * back from storage, replies, deletions and project deletions.  Project
+ * queues are ordered by submission time (then ID, as IDs drawn by
+ * different threads are not in creation order), so the head of a pending
+ * queue is the oldest unanswered enquiry and {@link #nextPending} is a
+ * single head read.  Editing the text changes no queue; the queues hold
+ * the enquiries themselves.
+ */
+public class EnquiryInbox implements DomainListener {
+    private static final EnquiryInbox SHARED = new EnquiryInbox();
+
+    static {
+        DomainEvents.register(SHARED);
+    }
+
+    private static final Comparator<Enquiry> OLDEST_FIRST =
+        Comparator.comparing(Enquiry::getDateSubmitted).thenComparingInt(Enquiry::getEnquiryID);
+
+    /** The two queues of one project. */
+    private static final class Queues {
+        final NavigableSet<Enquiry> pending = new ConcurrentSkipListSet<>(OLDEST_FIRST);
+        final NavigableSet<Enquiry> replied = new ConcurrentSkipListSet<>(OLDEST_FIRST);
+
+        NavigableSet<Enquiry> of(EnquiryStatus status) {
+            return status == EnquiryStatus.Replied ? replied : pending;
+        }
+    }
+
+    private final Map<String, Queues> byProject = new ConcurrentHashMap<>();
+    private final Map<String, NavigableMap<Integer, Enquiry>> byApplicant = new ConcurrentHashMap<>();
+
+    /** @return the inbox fed by the domain events of this process. */
+    public static EnquiryInbox shared() {
+        return SHARED;
+    }
+
+    // ─── Queries ────────────────────────────────────────────────────────────
+
+    /** @return the oldest unanswered enquiry on {@code project}, or null if there is none. */
+    public Enquiry nextPending(Project project) {
+        Queues q = byProject.get(project.getProjectID());
+        if (q == null) {
+            return null;
+        }
+        try {
+            return q.pending.first();
+        } catch (NoSuchElementException e) {
+            return null;
+        }
+    }
+
+    /** @return a live read-only view of the enquiries on {@code project} in {@code status}, oldest first. */
+    public Collection<Enquiry> findByProject(Project project, EnquiryStatus status) {
+        Queues q = byProject.get(project.getProjectID());
+        return q == null ? Collections.emptyList() : Collections.unmodifiableCollection(q.of(status));
+    }
+
+    /** @return the number of unanswered enquiries on {@code project}. */
+    public int pendingCount(Project project) {
+        Queues q = byProject.get(project.getProjectID());
+        return q == null ? 0 : q.pending.size();
+    }
+
+    /** @return a live read-only view of {@code applicant}'s enquiries, by ID. */
+    public Collection<Enquiry> findByApplicant(Applicant applicant) {
+        NavigableMap<Integer, Enquiry> mine = byApplicant.get(applicant.getNric());
+        return mine == null ? Collections.emptyList() : Collections.unmodifiableCollection(mine.values());
+    }
+
+    /** @return {@code applicant}'s enquiry with this ID, or null. */
+    public Enquiry findForApplicant(Applicant applicant, int enquiryID) {
+        NavigableMap<Integer, Enquiry> mine = byApplicant.get(applicant.getNric());
+        return mine == null ? null : mine.get(enquiryID);
+    }
+
+    // ─── DomainListener ─────────────────────────────────────────────────────
+
+    @Override
+    public void enquiryAdded(Enquiry enquiry) {
+        int id = enquiry.getEnquiryID();
+        Queues q = byProject.computeIfAbsent(enquiry.getProject().getProjectID(), k -> new Queues());
+        q.of(enquiry.getStatus()).add(enquiry);
+        byApplicant.computeIfAbsent(enquiry.getApplicant().getNric(),
+            k -> new ConcurrentSkipListMap<>()).put(id, enquiry);
+    }
+
+    @Override
+    public void enquiryReplied(Enquiry enquiry) {
+        Queues q = byProject.get(enquiry.getProject().getProjectID());
+        if (q != null && q.pending.remove(enquiry)) {
+            q.replied.add(enquiry);
+        }
+    }
+
+    @Override
+    public void enquiryDeleted(Enquiry enquiry) {
+        int id = enquiry.getEnquiryID();
+        Queues q = byProject.get(enquiry.getProject().getProjectID());
+        if (q != null) {
+            q.pending.remove(enquiry);
+            q.replied.remove(enquiry);
+        }
+        NavigableMap<Integer, Enquiry> mine = byApplicant.get(enquiry.getApplicant().getNric());
+        if (mine != null) {
+            mine.remove(id, enquiry);
+        }
+    }
+
+    @Override
+    public void projectRemoved(Project project) {
+        Queues q = byProject.remove(project.getProjectID());
+        if (q == null) {
+            return;
+        }
+        forgetApplicants(q.pending);
+        forgetApplicants(q.replied);
+    }
+
+    private void forgetApplicants(Collection<Enquiry> queue) {
+        for (Enquiry e : queue) {
+            NavigableMap<Integer, Enquiry> mine = byApplicant.get(e.getApplicant().getNric());
+            if (mine != null) {
+                mine.remove(e.getEnquiryID(), e);
+            }
+        }
+    }
+}
@@ -1,6 +1,13 @@
 import enums.FlatType;
 import enums.MaritalStatus;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiPredicate;
+
 /**
  * Holds criteria for filtering Applicants and Projects (or Applications).
  */
@@ -43,6 +50,28 @@ public class Filter {
         }
     }
 
+    // — Getters (null when the criterion is not set) —
+
+    public MaritalStatus getMaritalStatus() {
+        return maritalStatus;
+    }
+
+    public FlatType getFlatType() {
+        return flatType;
+    }
+
+    public Integer getMinAge() {
+        return minAge;
+    }
+
+    public Integer getMaxAge() {
+        return maxAge;
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
     // — Matching logic —
 
     /**
@@ -93,4 +122,82 @@ public class Filter {
         }
         return true;
     }
+
+    // — Compiled matching —
+
+    /**
+     * Compiles the criteria into a predicate equivalent to
+     * {@link #matches(Applicant, Project)} that only checks the criteria
+     * that are set, most selective first, with the project name resolved
+     * once to the IDs of the matching {@code projects}.
+     * The result is a snapshot: later setter calls or project renames
+     * are not seen by it.
+     */
+    public BiPredicate<Applicant, Project> compile(Collection<Project> projects) {
+        List<BiPredicate<Applicant, Project>> stages = new ArrayList<>(4);
+        if (projectName != null) {
+            Set<String> ids = new HashSet<>();
+            for (Project p : projects) {
+                if (p.getProjectName().equalsIgnoreCase(projectName)) {
+                    ids.add(p.getProjectID());
+                }
+            }
+            if (ids.isEmpty()) {
+                return (a, p) -> false;
+            }
+            if (ids.size() == 1) {
+                String id = ids.iterator().next();
+                stages.add((a, p) -> p.getProjectID().equals(id));
+            } else {
+                stages.add((a, p) -> ids.contains(p.getProjectID()));
+            }
+        }
+        addApplicantStages(stages);
+        return chain(stages);
+    }
+
+    /**
+     * Same as {@link #compile(Collection)} when the projects are not known
+     * up front; the project name is then compared on each call.
+     */
+    public BiPredicate<Applicant, Project> compile() {
+        List<BiPredicate<Applicant, Project>> stages = new ArrayList<>(4);
+        if (projectName != null) {
+            String name = projectName;
+            stages.add((a, p) -> p.getProjectName().equalsIgnoreCase(name));
+        }
+        addApplicantStages(stages);
+        return chain(stages);
+    }
+
+    /** Marital status halves the rows, an age band narrows further; unit availability rarely rejects. */
+    private void addApplicantStages(List<BiPredicate<Applicant, Project>> stages) {
+        if (maritalStatus != null) {
+            MaritalStatus ms = maritalStatus;
+            stages.add((a, p) -> a.getMaritalStatus() == ms);
+        }
+        if (minAge != null || maxAge != null) {
+            int lo = minAge != null ? minAge : Integer.MIN_VALUE;
+            int hi = maxAge != null ? maxAge : Integer.MAX_VALUE;
+            stages.add((a, p) -> {
+                int age = a.getAge();
+                return age >= lo && age <= hi;
+            });
+        }
+        if (flatType != null) {
+            FlatType ft = flatType;
+            stages.add((a, p) -> p.getUnits(ft) != 0);
+        }
+    }
+
+    private static BiPredicate<Applicant, Project> chain(List<BiPredicate<Applicant, Project>> stages) {
+        if (stages.isEmpty()) {
+            return (a, p) -> true;
+        }
+        BiPredicate<Applicant, Project> chained = stages.get(0);
+        for (int i = 1; i < stages.size(); i++) {
+            chained = chained.and(stages.get(i));
+        }
+        return chained;
+    }
 }
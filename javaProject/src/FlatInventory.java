@@ -0,0 +1,130 @@
+// FlatInventory.java
+
+import enums.FlatType;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free per-{@link FlatType} unit counters for one project.
+ *
+ * Each slot packs a change version (high 32 bits) with the unit count
+ * (low 32 bits), so every update is a single CAS and observers can tell
+ * which of two reported counts is the newer one.
+ */
+public class FlatInventory {
+    private static final FlatType[] TYPES = FlatType.values();
+
+    private final AtomicLongArray slots = new AtomicLongArray(TYPES.length);
+
+    public FlatInventory(int twoRoomUnits, int threeRoomUnits) {
+        slots.set(FlatType.Two_Room.ordinal(), pack(0, twoRoomUnits));
+        slots.set(FlatType.Three_Room.ordinal(), pack(0, threeRoomUnits));
+    }
+
+    /** @return the units currently available for {@code flatType}. */
+    public int get(FlatType flatType) {
+        return units(slots.get(flatType.ordinal()));
+    }
+
+    /**
+     * Atomically take one unit if any remain.
+     * @return true if a unit was reserved; false if none were left.
+     */
+    public boolean tryReserve(FlatType flatType) {
+        return reserve(flatType) >= 0;
+    }
+
+    /**
+     * Atomically take up to {@code wanted} units in one update.
+     * @return the number of units actually taken (0 if none were left).
+     */
+    public int tryReserve(FlatType flatType, int wanted) {
+        long before = reserveUpTo(flatType, wanted);
+        return before < 0 ? 0 : Math.min(wanted, units(before));
+    }
+
+    /**
+     * Take up to {@code wanted} units in one update.
+     * @return the packed state before the update, or -1 if nothing was taken
+     */
+    long reserveUpTo(FlatType flatType, int wanted) {
+        int i = flatType.ordinal();
+        while (true) {
+            long cur = slots.get(i);
+            int granted = Math.min(wanted, units(cur));
+            if (granted <= 0) {
+                return -1;
+            }
+            if (slots.compareAndSet(i, cur, afterTaking(cur, granted))) {
+                return cur;
+            }
+        }
+    }
+
+    /** Take one unit; @return the packed new state, or -1 if none were left. */
+    long reserve(FlatType flatType) {
+        int i = flatType.ordinal();
+        while (true) {
+            long cur = slots.get(i);
+            int units = units(cur);
+            if (units <= 0) {
+                return -1;
+            }
+            long next = pack(version(cur) + 1, units - 1);
+            if (slots.compareAndSet(i, cur, next)) {
+                return next;
+            }
+        }
+    }
+
+    /** Return {@code count} units; @return the packed new state. */
+    long release(FlatType flatType, int count) {
+        int i = flatType.ordinal();
+        while (true) {
+            long cur = slots.get(i);
+            long next = pack(version(cur) + 1, units(cur) + count);
+            if (slots.compareAndSet(i, cur, next)) {
+                return next;
+            }
+        }
+    }
+
+    /** Overwrite the unit count, bumping the version; @return the packed new state. */
+    long set(FlatType flatType, int units) {
+        int i = flatType.ordinal();
+        while (true) {
+            long cur = slots.get(i);
+            long next = pack(version(cur) + 1, units);
+            if (slots.compareAndSet(i, cur, next)) {
+                return next;
+            }
+        }
+    }
+
+    /** @return the packed state (version and units) of {@code flatType}. */
+    long state(FlatType flatType) {
+        return slots.get(flatType.ordinal());
+    }
+
+    /** Overwrite both units and version, e.g. when replaying a journal. */
+    void restore(FlatType flatType, int units, int version) {
+        slots.set(flatType.ordinal(), pack(version, units));
+    }
+
+    static int units(long packed) {
+        return (int) packed;
+    }
+
+    static int version(long packed) {
+        return (int) (packed >>> 32);
+    }
+
+    /** @return the packed state that taking {@code count} units from {@code packed} leads to. */
+    static long afterTaking(long packed, int count) {
+        return pack(version(packed) + 1, units(packed) - count);
+    }
+
+    private static long pack(int version, int units) {
+        return ((long) version << 32) | (units & 0xFFFFFFFFL);
+    }
+}
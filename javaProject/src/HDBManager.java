@@ -1,12 +1,18 @@
 import enums.ApplicationStatus;
+import enums.ApprovalOutcome;
 import enums.FlatType;
-import enums.RegistrationStatus;
 import enums.MaritalStatus;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
 
 /**
  * Represents an HDB Manager who can:
@@ -20,10 +26,13 @@ import java.util.List;
  */
 public class HDBManager extends User {
     private final List<Project> projectRepo;
-    private final List<OfficerRegistration> officerRegRepo;
+    private final ApplicationRegistry applications = ApplicationRegistry.shared();
+    private final OfficerRegistrationService registrations = OfficerRegistrationService.shared();
 
     /**
-     * Full constructor (used by Main wiring).
+     * Full constructor (used by Main wiring).  Registrations are looked up
+     * through {@link OfficerRegistrationService}; {@code officerRegRepo}
+     * is kept for existing callers and not read.
      */
     public HDBManager(
         String nric,
@@ -35,7 +44,6 @@ public class HDBManager extends User {
     ) {
         super(nric, password, age, maritalStatus);
         this.projectRepo    = projectRepo;
-        this.officerRegRepo = officerRegRepo;
     }
 
     /**
@@ -53,9 +61,17 @@ public class HDBManager extends User {
     public Project createProject(Project p) {
         validateNoOverlap(p);
         projectRepo.add(p);
+        DomainEvents.projectAdded(p);
         return p;
     }
 
+    /** Add a project loaded from storage to this manager's list, without the overlap check. */
+    void attachProject(Project p) {
+        if (!projectRepo.contains(p)) {
+            projectRepo.add(p);
+        }
+    }
+
     public Project updateProject(String projectID, Project updated) {
         Project existing = findProject(projectID);
         if (!existing.getManagerInCharge().equals(this)) {
@@ -73,7 +89,11 @@ public class HDBManager extends User {
     public boolean deleteProject(String projectID) {
         Project p = findProject(projectID);
         if (!p.getManagerInCharge().equals(this)) return false;
-        return projectRepo.remove(p);
+        boolean removed = projectRepo.remove(p);
+        if (removed) {
+            DomainEvents.projectRemoved(p);
+        }
+        return removed;
     }
 
     public void toggleProjectVisibility(String projectID) {
@@ -123,13 +143,16 @@ public class HDBManager extends User {
 
     // --- OFFICER REGISTRATION MANAGEMENT ---
 
+    /**
+     * Approve a pending registration, taking one of the project's officer slots.
+     * @throws IllegalStateException if unauthorized, not pending or no slot remains
+     */
     public OfficerRegistration approveOfficerRegistration(int registrationID) {
         OfficerRegistration reg = findRegistration(registrationID);
         if (!reg.getProject().getManagerInCharge().equals(this)) {
             throw new IllegalStateException("Unauthorized to approve this registration");
         }
-        reg.setStatus(RegistrationStatus.Approved);
-        reg.getProject().occupyOfficerSlot();
+        registrations.approve(reg);
         return reg;
     }
 
@@ -138,13 +161,19 @@ public class HDBManager extends User {
         if (!reg.getProject().getManagerInCharge().equals(this)) {
             throw new IllegalStateException("Unauthorized to reject this registration");
         }
-        reg.setStatus(RegistrationStatus.Rejected);
+        registrations.reject(reg);
         return reg;
     }
 
     private OfficerRegistration findRegistration(int id) {
-        return officerRegRepo.stream()
-            .filter(r -> r.getId() == id)
+        OfficerRegistration indexed = registrations.find(id);
+        if (indexed != null) {
+            return indexed;
+        }
+        // Not indexed until its project's children are loaded; see findApplication.
+        return projectRepo.stream()
+            .map(p -> p.findOfficerRegistration(id))
+            .filter(Objects::nonNull)
             .findFirst()
             .orElseThrow(() -> new IllegalArgumentException("Registration not found: " + id));
     }
@@ -163,12 +192,66 @@ public class HDBManager extends User {
         return app;
     }
 
-    private Application findApplication(String applicationID) {
-        return projectRepo.stream()
-            .flatMap(p -> p.getApplications().stream())
-            .filter(a -> a.getApplicationID().equals(applicationID))
-            .findFirst()
-            .orElseThrow(() -> new IllegalArgumentException("Application not found: " + applicationID));
+    /**
+     * Approve many applications in one pass, one inventory update per
+     * project and flat type.
+     * @return the outcome per application ID, in input order; applications
+     *         on other managers' projects are UNAUTHORIZED
+     */
+    public Map<String, ApprovalOutcome> approveApplications(Collection<String> applicationIDs) {
+        Map<String, ApprovalOutcome> outcomes = new LinkedHashMap<>();
+        List<Application> found = new ArrayList<>();
+        for (String id : applicationIDs) {
+            try {
+                found.add(findApplication(id));
+                outcomes.putIfAbsent(id, null);  // placeholder keeps input order
+            } catch (IllegalArgumentException e) {
+                outcomes.put(id, ApprovalOutcome.NOT_FOUND);
+            } catch (IllegalStateException e) {
+                outcomes.put(id, ApprovalOutcome.UNAUTHORIZED);
+            }
+        }
+        outcomes.putAll(new BatchApprovalEngine().approve(found));
+        return outcomes;
+    }
+
+    /**
+     * Approve the project's PENDING applications, oldest first, while
+     * units of their flat type remain; the others stay PENDING.
+     * @return the outcome per approved or attempted application ID
+     */
+    public Map<String, ApprovalOutcome> approvePendingApplications(String projectID) {
+        return new BatchApprovalEngine().approvePending(findProject(projectID));
+    }
+
+    /**
+     * Allocate the project's units by ballot among its PENDING applications.
+     * @param tier priority tier per application (0 first); see {@link BallotAllocator}
+     * @return the outcome per application ID, in draw order
+     */
+    public Map<String, ApprovalOutcome> runBallot(String projectID, long seed, ToIntFunction<Application> tier) {
+        return new BallotAllocator(seed).run(findProject(projectID), tier);
+    }
+
+    /**
+     * @throws IllegalArgumentException if no such application exists
+     * @throws IllegalStateException if it belongs to another manager's project
+     */
+    Application findApplication(String applicationID) {
+        Application app = applications.find(applicationID);
+        if (app == null) {
+            // Not indexed yet (its project's children were never loaded): the
+            // per-project lookup loads them, which also indexes them for next time.
+            app = projectRepo.stream()
+                .map(p -> p.findApplication(applicationID))
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Application not found: " + applicationID));
+        }
+        if (!app.getProject().getManagerInCharge().equals(this)) {
+            throw new IllegalStateException("Unauthorized to manage this application");
+        }
+        return app;
     }
 
     // --- WITHDRAWAL MANAGEMENT ---
@@ -181,12 +264,20 @@ public class HDBManager extends User {
 
     // --- REPORT GENERATION ---
 
+    /** Booked applications, one per line, grouped by project; projects are scanned in parallel. */
     public String generateFlatBookingReport() {
+        return projectRepo.parallelStream()
+            .map(HDBManager::bookedLines)
+            .collect(Collectors.joining());
+    }
+
+    private static String bookedLines(Project p) {
         StringBuilder sb = new StringBuilder();
-        projectRepo.stream()
-            .flatMap(p -> p.getApplications().stream())
-            .filter(a -> a.getStatus() == ApplicationStatus.BOOKED)
-            .forEach(a -> sb.append(a).append("\n"));
+        for (Application a : p.getApplications()) {
+            if (a.getStatus() == ApplicationStatus.BOOKED) {
+                sb.append(a).append("\n");
+            }
+        }
         return sb.toString();
     }
 }
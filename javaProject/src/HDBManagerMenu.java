@@ -1,11 +1,17 @@
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
 
 import enums.RegistrationStatus;
 import enums.ApplicationStatus;
+import enums.ApprovalOutcome;
 import enums.FlatType;
+import enums.MaritalStatus;
 
 /**
  * CLI menu for HDB Manager role.
@@ -14,206 +20,277 @@ import enums.FlatType;
 public class HDBManagerMenu extends Menu {
     private final HDBManager manager;
     private final List<Project> projectRepo;
-    private final List<OfficerRegistration> officerRegistrations;
     private final Scanner scanner = getScanner();
+    private final PrintStream out = getOut();
     private final DateTimeFormatter dtf = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
     /**
      * @param manager               the logged-in HDBManager
      * @param projectRepo           all projects in the system
-     * @param officerRegistrations  all officer registrations in the system
+     * @param officerRegistrations  not read; registrations come from OfficerRegistrationService
      */
     public HDBManagerMenu(HDBManager manager,
                           List<Project> projectRepo,
                           List<OfficerRegistration> officerRegistrations) {
+        this(manager, projectRepo, officerRegistrations, new Scanner(System.in), System.out);
+    }
+
+    /** Same menu on the given session streams. */
+    public HDBManagerMenu(HDBManager manager,
+                          List<Project> projectRepo,
+                          List<OfficerRegistration> officerRegistrations,
+                          Scanner in,
+                          PrintStream out) {
+        super(in, out);
         this.manager               = manager;
         this.projectRepo           = projectRepo;
-        this.officerRegistrations  = officerRegistrations;
-    }
-
-    @Override
-    public void displayMenu() {
-        System.out.println("\n=== HDB Manager Menu ===");
-        System.out.println("1.  Create Project");
-        System.out.println("2.  Edit Project");
-        System.out.println("3.  Delete Project");
-        System.out.println("4.  Toggle Project Visibility");
-        System.out.println("5.  View All Projects");
-        System.out.println("6.  View My Projects");
-        System.out.println("7.  View Officer Registrations");
-        System.out.println("8.  Approve Officer Registration");
-        System.out.println("9.  Reject Officer Registration");
-        System.out.println("10. Approve Application");
-        System.out.println("11. Reject Application");
-        System.out.println("12. Process Withdrawal Request");
-        System.out.println("13. Generate Flat Booking Report");
-        System.out.println("0.  Logout");
-        System.out.print("Select an option: ");
-    }
-
-    @Override
-    public void handleOption(int option) {
-        try {
-            switch (option) {
-                case 1:  createProject();             break;
-                case 2:  editProject();               break;
-                case 3:  deleteProject();             break;
-                case 4:  toggleVisibility();          break;
-                case 5:  viewAllProjects();           break;
-                case 6:  viewMyProjects();            break;
-                case 7:  viewOfficerRegistrations();  break;
-                case 8:  approveOfficerRegistration();break;
-                case 9:  rejectOfficerRegistration(); break;
-                case 10: approveApplication();        break;
-                case 11: rejectApplication();         break;
-                case 12: processWithdrawal();         break;
-                case 13: generateReport();            break;
-                case 0:
-                    System.out.println("Logging out...");
-                    return;
-                default:
-                    System.out.println("Invalid choice.");
-            }
-        } catch (IllegalArgumentException | IllegalStateException e) {
-            System.out.println("Error: " + e.getMessage());
-        }
-        run();
+
+        setTitle("=== HDB Manager Menu ===", "Select an option: ");
+        addOption(1,  "Create Project",                this::createProject);
+        addOption(2,  "Edit Project",                  this::editProject);
+        addOption(3,  "Delete Project",                this::deleteProject);
+        addOption(4,  "Toggle Project Visibility",     this::toggleVisibility);
+        addOption(5,  "View All Projects",             this::viewAllProjects);
+        addOption(6,  "View My Projects",              this::viewMyProjects);
+        addOption(7,  "View Officer Registrations",    this::viewOfficerRegistrations);
+        addOption(8,  "Approve Officer Registration",  this::approveOfficerRegistration);
+        addOption(9,  "Reject Officer Registration",   this::rejectOfficerRegistration);
+        addOption(10, "Approve Application",           this::approveApplication);
+        addOption(11, "Reject Application",            this::rejectApplication);
+        addOption(12, "Process Withdrawal Request",    this::processWithdrawal);
+        addOption(13, "Generate Flat Booking Report",  this::generateReport);
+        addOption(14, "Filter Booked Applications",    this::filterBookings);
+        addOption(15, "Batch Approve Applications",    this::batchApprove);
+        addOption(16, "Run Ballot for Project",        this::runBallot);
+        setExitOption("Logout", "Logging out...");
     }
 
     private void createProject() {
-        System.out.print("Project ID: ");
+        out.print("Project ID: ");
         String id = scanner.nextLine().trim();
-        System.out.print("Name: ");
+        out.print("Name: ");
         String name = scanner.nextLine().trim();
-        System.out.print("Neighborhood: ");
+        out.print("Neighborhood: ");
         String nb = scanner.nextLine().trim();
-        System.out.print("2-Room Units: ");
+        out.print("2-Room Units: ");
         int two = Integer.parseInt(scanner.nextLine().trim());
-        System.out.print("3-Room Units: ");
+        out.print("3-Room Units: ");
         int three = Integer.parseInt(scanner.nextLine().trim());
-        System.out.print("Opening Date (YYYY-MM-DD): ");
+        out.print("Opening Date (YYYY-MM-DD): ");
         LocalDate open = LocalDate.parse(scanner.nextLine().trim(), dtf);
-        System.out.print("Closing Date (YYYY-MM-DD): ");
+        out.print("Closing Date (YYYY-MM-DD): ");
         LocalDate close = LocalDate.parse(scanner.nextLine().trim(), dtf);
-        System.out.print("Officer Slots: ");
+        out.print("Officer Slots: ");
         int slots = Integer.parseInt(scanner.nextLine().trim());
 
         Project p = new Project(id, name, nb, two, three, open, close, manager, slots);
         manager.createProject(p);
         projectRepo.add(p);
-        System.out.println("Project created: " + p.getProjectID());
+        out.println("Project created: " + p.getProjectID());
     }
 
     private void editProject() {
-        System.out.print("Enter Project ID to edit: ");
+        out.print("Enter Project ID to edit: ");
         String id = scanner.nextLine().trim();
         Project existing = projectRepo.stream()
             .filter(p -> p.getProjectID().equals(id))
             .findFirst()
             .orElseThrow(() -> new IllegalArgumentException("Project not found"));
-        System.out.print("New Name ["+existing.getProjectName()+"]: ");
+        out.print("New Name ["+existing.getProjectName()+"]: ");
         String inp = scanner.nextLine().trim();
         if (!inp.isEmpty()) existing.setProjectName(inp);
-        System.out.print("New Neighborhood ["+existing.getNeighborhood()+"]: ");
+        out.print("New Neighborhood ["+existing.getNeighborhood()+"]: ");
         inp = scanner.nextLine().trim();
         if (!inp.isEmpty()) existing.setNeighborhood(inp);
-        System.out.print("2-Room Units ["+existing.getTwoRoomUnits()+"]: ");
+        out.print("2-Room Units ["+existing.getTwoRoomUnits()+"]: ");
         inp = scanner.nextLine().trim();
         if (!inp.isEmpty()) existing.setTwoRoomUnits(Integer.parseInt(inp));
-        System.out.print("3-Room Units ["+existing.getThreeRoomUnits()+"]: ");
+        out.print("3-Room Units ["+existing.getThreeRoomUnits()+"]: ");
         inp = scanner.nextLine().trim();
         if (!inp.isEmpty()) existing.setThreeRoomUnits(Integer.parseInt(inp));
-        System.out.print("Opening Date ["+existing.getApplicationOpeningDate()+"]: ");
+        out.print("Opening Date ["+existing.getApplicationOpeningDate()+"]: ");
         inp = scanner.nextLine().trim();
         if (!inp.isEmpty()) existing.setApplicationOpeningDate(LocalDate.parse(inp, dtf));
-        System.out.print("Closing Date ["+existing.getApplicationClosingDate()+"]: ");
+        out.print("Closing Date ["+existing.getApplicationClosingDate()+"]: ");
         inp = scanner.nextLine().trim();
         if (!inp.isEmpty()) existing.setApplicationClosingDate(LocalDate.parse(inp, dtf));
 
         manager.updateProject(id, existing);
-        System.out.println("Project updated.");
+        out.println("Project updated.");
     }
 
     private void deleteProject() {
-        System.out.print("Enter Project ID to delete: ");
+        out.print("Enter Project ID to delete: ");
         String id = scanner.nextLine().trim();
         if (manager.deleteProject(id)) {
             projectRepo.removeIf(p -> p.getProjectID().equals(id));
-            System.out.println("Project deleted.");
+            out.println("Project deleted.");
         } else {
-            System.out.println("Delete failed or unauthorized.");
+            out.println("Delete failed or unauthorized.");
         }
     }
 
     private void toggleVisibility() {
-        System.out.print("Project ID: ");
+        out.print("Project ID: ");
         String id = scanner.nextLine().trim();
         manager.toggleProjectVisibility(id);
         Project p = projectRepo.stream()
             .filter(proj -> proj.getProjectID().equals(id))
             .findFirst().get();
-        System.out.println("Visibility now: " + p.isVisible());
+        out.println("Visibility now: " + p.isVisible());
     }
 
     private void viewAllProjects() {
-        System.out.println("\n-- All Projects --");
-        projectRepo.forEach(p -> System.out.println(p));
+        out.println("\n-- All Projects --");
+        projectRepo.forEach(p -> out.println(p));
     }
 
     private void viewMyProjects() {
-        System.out.println("\n-- My Projects --");
+        out.println("\n-- My Projects --");
         projectRepo.stream()
             .filter(p -> p.getManagerInCharge().equals(manager))
-            .forEach(p -> System.out.println(p));
+            .forEach(p -> out.println(p));
     }
 
     private void viewOfficerRegistrations() {
-        System.out.print("Project ID: ");
+        out.print("Project ID: ");
         String id = scanner.nextLine().trim();
-        System.out.println("\n-- Officer Registrations --");
-        officerRegistrations.stream()
-            .filter(r -> r.getProject().getProjectID().equals(id))
-            .forEach(r -> System.out.println(r));
+        Project p = projectRepo.stream()
+            .filter(proj -> proj.getProjectID().equals(id))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Project not found"));
+        Project.ensureChildrenLoaded(List.of(p));
+        out.println("\n-- Officer Registrations (" + p.getAvailableOfficerSlots() + " slot(s) free) --");
+        OfficerRegistrationService.shared().findByProject(p).forEach(r -> out.println(r));
     }
 
     private void approveOfficerRegistration() {
-        System.out.print("Registration ID to approve: ");
+        out.print("Registration ID to approve: ");
         int rid = Integer.parseInt(scanner.nextLine().trim());
         manager.approveOfficerRegistration(rid);
-        System.out.println("Registration approved.");
+        out.println("Registration approved.");
     }
 
     private void rejectOfficerRegistration() {
-        System.out.print("Registration ID to reject: ");
+        out.print("Registration ID to reject: ");
         int rid = Integer.parseInt(scanner.nextLine().trim());
         manager.rejectOfficerRegistration(rid);
-        System.out.println("Registration rejected.");
+        out.println("Registration rejected.");
     }
 
     private void approveApplication() {
-        System.out.print("Application ID to approve: ");
+        out.print("Application ID to approve: ");
         String aid = scanner.nextLine().trim();
         manager.approveApplication(aid);
-        System.out.println("Application approved.");
+        out.println("Application approved.");
+    }
+
+    private void batchApprove() {
+        out.print("Application IDs (comma-separated), or blank for all pending in a project: ");
+        String ids = scanner.nextLine().trim();
+        Map<String, ApprovalOutcome> outcomes;
+        if (ids.isEmpty()) {
+            out.print("Project ID: ");
+            outcomes = manager.approvePendingApplications(scanner.nextLine().trim());
+        } else {
+            List<String> wanted = new ArrayList<>();
+            for (String id : ids.split(",")) {
+                if (!id.isBlank()) wanted.add(id.trim());
+            }
+            outcomes = manager.approveApplications(wanted);
+        }
+        printOutcomes(outcomes, false);
+    }
+
+    private void runBallot() {
+        out.print("Project ID: ");
+        String pid = scanner.nextLine().trim();
+        out.print("Seed (blank for random): ");
+        String s = scanner.nextLine().trim();
+        long seed = s.isEmpty() ? System.nanoTime() : Long.parseLong(s);
+        out.print("Draw MARRIED applicants first? (y/N): ");
+        boolean married = scanner.nextLine().trim().equalsIgnoreCase("y");
+
+        Map<String, ApprovalOutcome> outcomes = manager.runBallot(pid, seed, married
+            ? a -> a.getApplicant().getMaritalStatus() == MaritalStatus.MARRIED ? 0 : 1
+            : BallotAllocator.NO_PRIORITY);
+        out.println("Ballot seed: " + seed + " (enter it again to repeat this draw)");
+        printOutcomes(outcomes, true);
+    }
+
+    private void printOutcomes(Map<String, ApprovalOutcome> outcomes, boolean all) {
+        Map<ApprovalOutcome, Integer> counts = new EnumMap<>(ApprovalOutcome.class);
+        int queueNo = 0;
+        for (Map.Entry<String, ApprovalOutcome> e : outcomes.entrySet()) {
+            counts.merge(e.getValue(), 1, Integer::sum);
+            queueNo++;
+            if (all) {
+                out.println("  " + queueNo + ". " + e.getKey() + ": " + e.getValue());
+            } else if (e.getValue() != ApprovalOutcome.SUCCESSFUL) {
+                out.println("  " + e.getKey() + ": " + e.getValue());
+            }
+        }
+        out.println("Processed " + outcomes.size() + " application(s): " + counts);
     }
 
     private void rejectApplication() {
-        System.out.print("Application ID to reject: ");
+        out.print("Application ID to reject: ");
         String aid = scanner.nextLine().trim();
         manager.rejectApplication(aid);
-        System.out.println("Application rejected.");
+        out.println("Application rejected.");
     }
 
     private void processWithdrawal() {
-        System.out.print("Application ID to withdraw: ");
+        out.print("Application ID to withdraw: ");
         String aid = scanner.nextLine().trim();
         manager.processWithdrawal(aid);
-        System.out.println("Withdrawal processed.");
+        out.println("Withdrawal processed.");
     }
 
     private void generateReport() {
-        String report = manager.generateFlatBookingReport();
-        System.out.println("\n-- Flat Booking Report --");
-        System.out.println(report.isEmpty() ? "No bookings." : report);
+        // Projects with bookings were loaded at login, so the index holds every booking.
+        List<Application> bookings = BookingIndex.shared().find(null);
+        out.println("\n-- Flat Booking Report --");
+        if (bookings.isEmpty()) {
+            out.println("No bookings.");
+        } else {
+            bookings.forEach(out::println);
+        }
+
+        BookingStatistics stats = BookingStatistics.shared();
+        out.println("-- Booking Summary --");
+        out.printf("Booked: %d (2-Room: %d, 3-Room: %d; Single: %d, Married: %d)%n",
+            stats.getTotalBooked(),
+            stats.getBooked(FlatType.Two_Room), stats.getBooked(FlatType.Three_Room),
+            stats.getBooked(MaritalStatus.SINGLE), stats.getBooked(MaritalStatus.MARRIED));
+        out.printf("Remaining units: 2-Room: %d, 3-Room: %d%n",
+            stats.getRemainingUnits(FlatType.Two_Room), stats.getRemainingUnits(FlatType.Three_Room));
+        for (Project p : projectRepo) {
+            out.printf("  %s %s: %d booked (2-Room: %d, 3-Room: %d)%n",
+                p.getProjectID(), p.getProjectName(), stats.getBooked(p),
+                stats.getBooked(p, FlatType.Two_Room), stats.getBooked(p, FlatType.Three_Room));
+        }
+    }
+
+    private void filterBookings() {
+        out.println("Leave a criterion blank to skip it.");
+        Filter filter = new Filter();
+        out.print("Marital Status (SINGLE/MARRIED): ");
+        filter.setMaritalStatus(scanner.nextLine());
+        out.print("Min Age: ");
+        String min = scanner.nextLine().trim();
+        if (!min.isEmpty()) filter.setMinAge(Integer.parseInt(min));
+        out.print("Max Age: ");
+        String max = scanner.nextLine().trim();
+        if (!max.isEmpty()) filter.setMaxAge(Integer.parseInt(max));
+        out.print("Project Name: ");
+        filter.setProjectName(scanner.nextLine());
+        out.print("Booked Flat Type (Two_Room/Three_Room): ");
+        String ft = scanner.nextLine().trim();
+        FlatType booked = ft.isEmpty() ? null : FlatType.valueOf(ft.replace("-", "_").replace(" ", "_"));
+
+        List<Application> hits = BookingIndex.shared().find(filter, booked);
+        out.println("\n-- " + hits.size() + " matching booking(s) --");
+        hits.forEach(out::println);
     }
 }
@@ -3,6 +3,8 @@ import enums.RegistrationStatus;
 import enums.ApplicationStatus;
 import enums.MaritalStatus;
 
+import java.util.List;
+
 /**
  * Represents an HDB Officer.
  * Inherits Applicant capabilities and adds:
@@ -11,8 +13,7 @@ import enums.MaritalStatus;
  *  - booking flats for successful applications
  */
 public class HDBOfficer extends Applicant {
-    private Project handledProject;
-    private RegistrationStatus registrationStatus = RegistrationStatus.Pending;
+    private final OfficerRegistrationService registrations = OfficerRegistrationService.shared();
 
     public HDBOfficer(String nric,
                       String password,
@@ -23,44 +24,38 @@ public class HDBOfficer extends Applicant {
 
     /**
      * Request to register for a project (pending manager approval).
+     * Synchronized so one officer cannot register twice concurrently.
      * @throws IllegalStateException if already requested or outside period.
      */
-    public void registerForProject(Project project) {
-        if (handledProject != null && handledProject.equals(project)) {
-            throw new IllegalStateException("Already requested registration for project " + project.getProjectID());
-        }
-        if (!project.isWithinApplicationPeriod()) {
-            throw new IllegalStateException("Cannot register outside application period");
-        }
-        this.handledProject     = project;
-        this.registrationStatus = RegistrationStatus.Pending;
+    public synchronized OfficerRegistration registerForProject(Project project) {
+        return registrations.register(this, project);
     }
 
-    /** Approve this officer’s registration (called by HDBManager). */
-    public void approveRegistration() {
-        if (registrationStatus != RegistrationStatus.Pending) {
-            throw new IllegalStateException("No pending registration to approve");
-        }
-        this.registrationStatus = RegistrationStatus.Approved;
+    /** @return the registration that decides this officer's status, or null if none. */
+    public OfficerRegistration getRegistration() {
+        return registrations.findCurrent(this);
     }
 
-    /** Reject this officer’s registration (called by HDBManager). */
-    public void rejectRegistration() {
-        if (registrationStatus != RegistrationStatus.Pending) {
-            throw new IllegalStateException("No pending registration to reject");
-        }
-        this.registrationStatus = RegistrationStatus.Rejected;
-        this.handledProject     = null;
-    }
-
-    /** @return the current registration status. */
+    /** @return the current registration status, or null if never registered. */
     public RegistrationStatus getRegistrationStatus() {
-        return registrationStatus;
+        OfficerRegistration reg = getRegistration();
+        return reg == null ? null : reg.getStatus();
     }
 
     /** @return the project this officer is approved to handle (or null). */
     public Project getHandledProject() {
-        return handledProject;
+        OfficerRegistration reg = getRegistration();
+        return reg != null && reg.getStatus() == RegistrationStatus.Approved ? reg.getProject() : null;
+    }
+
+    /** @return the oldest unanswered enquiry on the handled project, or null if none. */
+    public Enquiry nextPendingEnquiry() {
+        Project handledProject = getHandledProject();
+        if (handledProject == null) {
+            return null;
+        }
+        Project.ensureChildrenLoaded(List.of(handledProject));
+        return EnquiryInbox.shared().nextPending(handledProject);
     }
 
     /**
@@ -68,7 +63,8 @@ public class HDBOfficer extends Applicant {
      * @throws IllegalArgumentException if enquiry not found.
      */
     public void replyToEnquiry(Enquiry enquiry, String replyText) {
-        if (handledProject == null || !handledProject.getEnquiries().contains(enquiry)) {
+        Project handledProject = getHandledProject();
+        if (handledProject == null || !handledProject.hasEnquiry(enquiry)) {
             throw new IllegalArgumentException("Enquiry not found on handled project");
         }
         enquiry.reply(replyText, this);
@@ -80,13 +76,19 @@ public class HDBOfficer extends Applicant {
      * @throws IllegalStateException if not assigned or application not successful.
      */
     public void bookFlat(Application application) {
+        Project handledProject = getHandledProject();
         if (handledProject == null || !handledProject.equals(application.getProject())) {
             throw new IllegalStateException("Officer not assigned to this project");
         }
         if (application.getStatus() != ApplicationStatus.SUCCESSFUL) {
             throw new IllegalStateException("Cannot book: application status is " + application.getStatus());
         }
-        application.book();  // transitions status to Booked
-        handledProject.decrementUnits(application.getFlatTypeChosen());
+        DomainEvents.beginBatch();  // status and units reach the journal together
+        try {
+            application.book();  // transitions status to Booked
+            handledProject.decrementUnits(application.getFlatTypeChosen());
+        } finally {
+            DomainEvents.endBatch();
+        }
     }
 }
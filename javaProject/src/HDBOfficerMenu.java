@@ -1,3 +1,4 @@
+import java.io.PrintStream;
 import java.util.List;
 import java.util.Scanner;
 import enums.FlatType;
@@ -11,93 +12,73 @@ public class HDBOfficerMenu extends Menu {
     private final HDBOfficer officer;
     private final List<Project> projectRepo;
     private final Scanner scanner = getScanner();
+    private final PrintStream out = getOut();
 
     public HDBOfficerMenu(HDBOfficer officer, List<Project> projectRepo) {
-        this.officer     = officer;
-        this.projectRepo = projectRepo;
+        this(officer, projectRepo, new Scanner(System.in), System.out);
     }
 
-    @Override
-    public void displayMenu() {
-        System.out.println("\n=== HDB Officer Menu ===");
-        System.out.println("1. View Open Projects");
-        System.out.println("2. Register for Project");
-        System.out.println("3. View Registration Status");
-        System.out.println("4. View Handled Project Details");
-        System.out.println("5. View Enquiries on Handled Project");
-        System.out.println("6. Reply to Enquiry");
-        System.out.println("7. Book Flat for Applicant");
-        System.out.println("0. Logout");
-        System.out.print("Choice: ");
-    }
+    /** Same menu on the given session streams. */
+    public HDBOfficerMenu(HDBOfficer officer, List<Project> projectRepo, Scanner in, PrintStream out) {
+        super(in, out);
+        this.officer     = officer;
+        this.projectRepo = projectRepo;
 
-    @Override
-    public void handleOption(int option) {
-        try {
-            switch (option) {
-                case 1: viewOpenProjects();      break;
-                case 2: registerForProject();    break;
-                case 3: viewRegStatus();         break;
-                case 4: viewProjectDetails();    break;
-                case 5: viewEnquiries();         break;
-                case 6: replyToEnquiry();        break;
-                case 7: bookFlat();              break;
-                case 0:
-                    System.out.println("Logging out...");
-                    return;
-                default:
-                    System.out.println("Invalid choice.");
-            }
-        } catch (IllegalStateException | IllegalArgumentException e) {
-            System.out.println("Error: " + e.getMessage());
-        }
-        run();
+        setTitle("=== HDB Officer Menu ===", "Choice: ");
+        addOption(1, "View Open Projects",                this::viewOpenProjects);
+        addOption(2, "Register for Project",              this::registerForProject);
+        addOption(3, "View Registration Status",          this::viewRegStatus);
+        addOption(4, "View Handled Project Details",      this::viewProjectDetails);
+        addOption(5, "View Enquiries on Handled Project", this::viewEnquiries);
+        addOption(6, "Reply to Enquiry",                  this::replyToEnquiry);
+        addOption(7, "Book Flat for Applicant",           this::bookFlat);
+        addOption(8, "Reply to Next Pending Enquiry",     this::replyToNextEnquiry);
+        setExitOption("Logout", "Logging out...");
     }
 
     private void viewOpenProjects() {
-        System.out.println("\n-- Open Projects --");
-        projectRepo.stream()
-            .filter(p -> p.isWithinApplicationPeriod() && p.isVisible())
-            .forEach(p -> System.out.println(p));
+        out.println("\n-- Open Projects --");
+        OpenProjectIndex.shared().findOpen().forEach(p -> out.println(p));
     }
 
     private void registerForProject() {
-        System.out.print("Enter Project ID: ");
+        out.print("Enter Project ID: ");
         String pid = scanner.nextLine().trim();
         Project p = projectRepo.stream()
             .filter(proj -> proj.getProjectID().equals(pid))
             .findFirst()
             .orElseThrow(() -> new IllegalArgumentException("Project not found"));
-        officer.registerForProject(p);
-        System.out.println("Registration requested (Pending).");
+        OfficerRegistration reg = officer.registerForProject(p);
+        out.println("Registration " + reg.getId() + " requested (Pending).");
     }
 
     private void viewRegStatus() {
-        System.out.println("Registration Status: " + officer.getRegistrationStatus());
+        OfficerRegistration reg = officer.getRegistration();
+        out.println(reg == null ? "You have not registered for any project." : "Registration: " + reg);
     }
 
     private void viewProjectDetails() {
         Project p = officer.getHandledProject();
         if (p == null) {
-            System.out.println("You have not been assigned any project.");
+            out.println("You have not been assigned any project.");
         } else {
-            System.out.println("\n-- Handled Project Details --");
-            System.out.println(p);
+            out.println("\n-- Handled Project Details --");
+            out.println(p);
         }
     }
 
     private void viewEnquiries() {
         Project p = officer.getHandledProject();
         if (p == null) {
-            System.out.println("No project assigned.");
+            out.println("No project assigned.");
             return;
         }
         List<Enquiry> enquiries = p.getEnquiries();
         if (enquiries.isEmpty()) {
-            System.out.println("No enquiries on this project.");
+            out.println("No enquiries on this project.");
         } else {
-            System.out.println("\n-- Enquiries --");
-            enquiries.forEach(e -> System.out.printf(
+            out.println("\n-- Enquiries --");
+            enquiries.forEach(e -> out.printf(
                 "%d: %s (Status: %s)%n", 
                 e.getEnquiryID(), e.getEnquiryText(), e.getStatus()
             ));
@@ -105,31 +86,44 @@ public class HDBOfficerMenu extends Menu {
     }
 
     private void replyToEnquiry() {
-        System.out.print("Enter Enquiry ID to reply: ");
+        out.print("Enter Enquiry ID to reply: ");
         int id = Integer.parseInt(scanner.nextLine().trim());
-        System.out.print("Reply text: ");
+        out.print("Reply text: ");
         String reply = scanner.nextLine().trim();
-        Enquiry e = officer.getHandledProject().getEnquiries().stream()
-            .filter(en -> en.getEnquiryID() == id)
-            .findFirst()
-            .orElseThrow(() -> new IllegalArgumentException("Enquiry not found"));
+        Enquiry e = officer.getHandledProject().findEnquiry(id);
+        if (e == null) {
+            throw new IllegalArgumentException("Enquiry not found");
+        }
         officer.replyToEnquiry(e, reply);
-        System.out.println("Enquiry replied.");
+        out.println("Enquiry replied.");
+    }
+
+    private void replyToNextEnquiry() {
+        Enquiry e = officer.nextPendingEnquiry();
+        if (e == null) {
+            out.println("No pending enquiries.");
+            return;
+        }
+        out.printf("%d: %s (from %s, %d pending)%n", e.getEnquiryID(), e.getEnquiryText(),
+            e.getApplicant().getNric(), EnquiryInbox.shared().pendingCount(e.getProject()));
+        out.print("Reply text: ");
+        officer.replyToEnquiry(e, scanner.nextLine().trim());
+        out.println("Enquiry replied.");
     }
 
     private void bookFlat() {
-        System.out.print("Enter Application ID to book: ");
+        out.print("Enter Application ID to book: ");
         String aid = scanner.nextLine().trim();
         // find the application in the handled project
-        Application app = officer.getHandledProject().getApplications().stream()
-            .filter(a -> a.getApplicationID().equals(aid))
-            .findFirst()
-            .orElseThrow(() -> new IllegalArgumentException("Application not found"));
+        Application app = officer.getHandledProject().findApplication(aid);
+        if (app == null) {
+            throw new IllegalArgumentException("Application not found");
+        }
         // ensure it’s successful
         if (app.getStatus() != ApplicationStatus.SUCCESSFUL) {
             throw new IllegalStateException("Only successful applications can be booked");
         }
         officer.bookFlat(app);
-        System.out.println("Application booked. Status is now BOOKED.");
+        out.println("Application booked. Status is now BOOKED.");
     }
 }
@@ -0,0 +1,141 @@
+// IdAllocator.java
+
+import enums.IdSequence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Hands out record IDs that stay unique across restarts and crashes.
+ *
+ * Each thread draws IDs from its own block of {@link #DEFAULT_BLOCK}
+ * consecutive numbers, so allocation is a thread-local increment.  Taking
+ * a new block raises the sequence's high-water mark, and once a file is
+ * {@link #attach attached} that mark is fsync'd (temp file and rename)
+ * before any ID from the block is used.  A restart therefore resumes
+ * above every ID ever handed out; IDs left in a dead thread's block are
+ * simply skipped.
+ *
+ * IDs are unique but, across threads, not in creation order.
+ *
+ * File format: one {@code SEQUENCE,nextUnreservedID} line per sequence.
+ */
+public class IdAllocator {
+    static final int DEFAULT_BLOCK = 256;
+
+    private static final IdSequence[] SEQUENCES = IdSequence.values();
+    private static final IdAllocator SHARED = new IdAllocator(DEFAULT_BLOCK);
+
+    private final int blockSize;
+    private final long[] highWater = new long[SEQUENCES.length];  // guarded by this
+    private Path file;                                           // guarded by this
+
+    /** Per thread, {next, end} of the current block of each sequence. */
+    private final ThreadLocal<long[]> blocks = ThreadLocal.withInitial(() -> new long[2 * SEQUENCES.length]);
+
+    /** An in-memory allocator until {@link #attach} is called. */
+    public IdAllocator(int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("blockSize must be positive");
+        }
+        this.blockSize = blockSize;
+        Arrays.fill(highWater, 1);
+    }
+
+    /** @return the allocator used by the domain classes of this process. */
+    public static IdAllocator shared() {
+        return SHARED;
+    }
+
+    /**
+     * Persist high-water marks to {@code path} from now on, first raising
+     * them to the marks already stored there.
+     */
+    public synchronized void attach(Path path) throws IOException {
+        if (Files.exists(path)) {
+            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                String[] f = CsvCodec.decode(line);
+                int k = IdSequence.valueOf(f[0]).ordinal();
+                highWater[k] = Math.max(highWater[k], Long.parseLong(f[1]));
+            }
+        }
+        this.file = path;
+        persist();
+    }
+
+    /** @return a fresh ID in {@code sequence}. */
+    public long next(IdSequence sequence) {
+        long[] b = blocks.get();
+        int i = 2 * sequence.ordinal();
+        if (b[i] == b[i + 1]) {
+            reserveBlock(sequence, b, i);
+        }
+        return b[i]++;
+    }
+
+    /** @return a fresh ID in {@code sequence} that fits in an int. */
+    public int nextInt(IdSequence sequence) {
+        return Math.toIntExact(next(sequence));
+    }
+
+    /** Make sure {@code sequence} never hands out {@code lastUsedID} or anything below it again. */
+    public synchronized void reserveThrough(IdSequence sequence, long lastUsedID) {
+        int k = sequence.ordinal();
+        highWater[k] = Math.max(highWater[k], lastUsedID + 1);
+    }
+
+    /** @return the lowest ID of {@code sequence} not yet reserved by any thread. */
+    public synchronized long peekHighWater(IdSequence sequence) {
+        return highWater[sequence.ordinal()];
+    }
+
+    private synchronized void reserveBlock(IdSequence sequence, long[] b, int i) {
+        int k = sequence.ordinal();
+        long start = highWater[k];
+        highWater[k] = start + blockSize;
+        try {
+            persist();
+        } catch (IOException e) {
+            highWater[k] = start;
+            throw new IllegalStateException("Cannot record " + sequence + " ID reservation: " + e.getMessage(), e);
+        }
+        b[i]     = start;
+        b[i + 1] = start + blockSize;
+    }
+
+    /** Write every mark to a temp file, fsync it, then rename it over the attached file. */
+    private void persist() throws IOException {
+        if (file == null) {
+            return;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (IdSequence s : SEQUENCES) {
+            sb.append(CsvCodec.encode(s.name(), Long.toString(highWater[s.ordinal()]))).append('\n');
+        }
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buf = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+            while (buf.hasRemaining()) {
+                ch.write(buf);
+            }
+            ch.force(true);
+        }
+        try {
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -1,13 +1,14 @@
 // InMemoryOfficerRegistrationRepository.java
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Simple in‐memory implementation of OfficerRegistrationRepository.
+ * Backed by a copy-on-write list so concurrent sessions can share it.
  */
 public class InMemoryOfficerRegistrationRepository implements OfficerRegistrationRepository {
-    private List<OfficerRegistration> cache = new ArrayList<>();
+    private volatile List<OfficerRegistration> cache = new CopyOnWriteArrayList<>();
 
     @Override
     public List<OfficerRegistration> findAll() {
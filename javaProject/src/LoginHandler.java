@@ -1,42 +1,79 @@
 // LoginHandler.java
 
-import java.util.regex.Pattern;
+import java.util.UUID;
 
 /**
  * Handles authentication of users by NRIC/password.
  * Control‐layer class (no direct I/O).
  */
 public class LoginHandler {
-    private static final Pattern NRIC_PATTERN =
-        Pattern.compile("^[ST]\\d{7}[A-Z]$");
-
     private final UserRepository userRepo;
+    private final CredentialStore credentials;
+    private final LoginRateLimiter limiter;
+    // A hash of a random password, checked in place of a missing user's credential.
+    private final String unknownUserCredential;
 
     public LoginHandler(UserRepository userRepo) {
-        this.userRepo = userRepo;
+        this(userRepo, CredentialStore.defaultStore());
+    }
+
+    public LoginHandler(UserRepository userRepo, CredentialStore credentials) {
+        this(userRepo, credentials, new LoginRateLimiter());
+    }
+
+    public LoginHandler(UserRepository userRepo, CredentialStore credentials, LoginRateLimiter limiter) {
+        this.userRepo    = userRepo;
+        this.credentials = credentials;
+        this.limiter     = limiter;
+        this.unknownUserCredential = credentials.hash(UUID.randomUUID().toString());
+    }
+
+    /**
+     * Authenticate the given credentials from the local console.
+     * @see #authenticate(String, String, String)
+     */
+    public User authenticate(String nric, String password) {
+        return authenticate(nric, password, null);
     }
 
     /**
-     * Authenticate the given credentials.
+     * Authenticate the given credentials.  A legacy plaintext (or weaker)
+     * stored password is replaced by a fresh hash once it verifies.
+     * Attempts are rate limited per {@code source} (null for the local
+     * console, which is not limited) and failures per NRIC; a refused
+     * attempt costs neither a repository lookup nor a password check.
+     * Only a wrong password is charged to the NRIC, so nobody can lock
+     * out a user by spending its allowance with attempts that succeed.
      * @throws IllegalArgumentException if NRIC format is invalid
+     * @throws LoginThrottledException  if too many attempts were made
      * @throws AuthenticationException  if no such user or wrong password
      */
-    public User authenticate(String nric, String password) {
+    public User authenticate(String nric, String password, String source) {
+        if (source != null && !limiter.tryAcquireSource(source)) {
+            throw new LoginThrottledException("Too many login attempts; try again later");
+        }
         if (!isValidUserID(nric)) {
             throw new IllegalArgumentException("Invalid NRIC format");
         }
+        if (limiter.isNricBlocked(nric)) {
+            throw new LoginThrottledException("Too many failed logins for this NRIC; try again later");
+        }
         User user = userRepo.findByNric(nric);
-        System.out.println(user);
-//        System.out.println(user.getPassword());
-        System.out.println(password);
-        if (user == null || !user.getPassword().equals(password)) {
+        // An unknown NRIC still pays for a full verify, so timing does not reveal which NRICs exist.
+        String expected = user != null ? user.getPassword() : unknownUserCredential;
+        if (!credentials.verify(password, expected) || user == null) {
+            limiter.recordNricFailure(nric);
             throw new AuthenticationException("Login failed: wrong credentials");
         }
+        String stored = user.getPassword();
+        if (credentials.needsRehash(stored)) {
+            user.upgradePassword(stored, credentials.hash(password));
+        }
         return user;
     }
 
     /** Checks NRIC format: S/T + 7 digits + uppercase letter. */
     public boolean isValidUserID(String nric) {
-        return nric != null && NRIC_PATTERN.matcher(nric).matches();
+        return NricValidator.FORMAT.isValid(nric);
     }
 }
@@ -0,0 +1,136 @@
+// LoginRateLimiter.java
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token buckets limiting login attempts per source and failed
+ * logins per NRIC.  An NRIC is only checked before the password is, and
+ * charged once the password turns out wrong, so correct logins never use
+ * up its allowance.  Failures are always charged, even past the burst, so
+ * concurrent guesses that all passed the check block the NRIC for longer.
+ *
+ * Each bucket is a single {@link AtomicLong} holding its "theoretical
+ * arrival time" (the GCRA form of a token bucket): taking a token is one
+ * CAS that pushes it forward by the refill interval, and the bucket is
+ * empty while it lies more than {@code burst - 1} intervals in the future.
+ * Buckets live in a ConcurrentHashMap, whose striping keeps attempts on
+ * different keys from contending.
+ *
+ * A bucket whose time has passed is full, which is the same as having no
+ * bucket, so idle buckets are swept out every {@link #SWEEP_EVERY} calls.
+ */
+public class LoginRateLimiter {
+    static final int SWEEP_EVERY = 4096;
+
+    private final Limit perSource;
+    private final Limit perNric;
+    private final Map<String, AtomicLong> sources = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> nrics = new ConcurrentHashMap<>();
+    private final long epoch = System.nanoTime();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    /** Burst size and refill interval of one kind of bucket. */
+    private static final class Limit {
+        final long interval;
+        final long tolerance;
+
+        Limit(int burst, Duration refill) {
+            if (burst < 1 || refill.isNegative() || refill.isZero()) {
+                throw new IllegalArgumentException("burst and refill interval must be positive");
+            }
+            this.interval  = refill.toNanos();
+            this.tolerance = (burst - 1) * interval;
+        }
+    }
+
+    /** 1000 attempts per source (then 500/s); 5 failures per NRIC (then one per 12 s). */
+    public LoginRateLimiter() {
+        this(1000, Duration.ofMillis(2), 5, Duration.ofSeconds(12));
+    }
+
+    /**
+     * @param sourceBurst   attempts a source may make at once
+     * @param sourceRefill  time for a source to earn one more attempt
+     * @param nricBurst     failed logins an NRIC may take at once
+     * @param nricRefill    time for an NRIC to earn one more failure
+     */
+    public LoginRateLimiter(int sourceBurst, Duration sourceRefill, int nricBurst, Duration nricRefill) {
+        this.perSource = new Limit(sourceBurst, sourceRefill);
+        this.perNric   = new Limit(nricBurst, nricRefill);
+    }
+
+    /** Count one login attempt from {@code source}. @return false if it must be refused. */
+    public boolean tryAcquireSource(String source) {
+        long now = now();
+        maybeSweep(now);
+        return take(sources.computeIfAbsent(source, k -> new AtomicLong()), now, perSource);
+    }
+
+    /** @return true if {@code nric} has used up its failed-login allowance for now. */
+    public boolean isNricBlocked(String nric) {
+        long now = now();
+        maybeSweep(now);
+        AtomicLong tat = nrics.get(nric);
+        return tat != null && tat.get() - now > perNric.tolerance;
+    }
+
+    /** Charge one failed login to {@code nric}. */
+    public void recordNricFailure(String nric) {
+        long now = now();
+        AtomicLong tat = nrics.computeIfAbsent(nric, k -> new AtomicLong());
+        tat.accumulateAndGet(now, (t, n) -> Math.max(t, n) + perNric.interval);
+    }
+
+    /** @return the number of buckets currently held (sources plus NRICs). */
+    public int size() {
+        return sources.size() + nrics.size();
+    }
+
+    /** Drop every bucket that has refilled completely. */
+    public void evictIdle() {
+        long now = now();
+        sources.values().removeIf(tat -> tat.get() <= now);
+        nrics.values().removeIf(tat -> tat.get() <= now);
+    }
+
+    private static boolean take(AtomicLong tat, long now, Limit limit) {
+        while (true) {
+            long t = tat.get();
+            long start = Math.max(t, now);
+            if (start - now > limit.tolerance) {
+                return false;
+            }
+            if (tat.compareAndSet(t, start + limit.interval)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * One caller in every SWEEP_EVERY does the sweep.  A bucket updated
+     * while being removed loses that update, which only errs on the side
+     * of allowing one more attempt.
+     */
+    private void maybeSweep(long now) {
+        if ((calls.incrementAndGet() & (SWEEP_EVERY - 1)) != 0 || !sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sources.values().removeIf(tat -> tat.get() <= now);
+            nrics.values().removeIf(tat -> tat.get() <= now);
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    /** Nanoseconds since construction, so a fresh bucket (0) is always full. */
+    private long now() {
+        return System.nanoTime() - epoch;
+    }
+}
@@ -0,0 +1,13 @@
+// LoginThrottledException.java
+
+/**
+ * Thrown when a login attempt is refused by the rate limiter,
+ * before the credentials are even checked.
+ */
+public class LoginThrottledException extends AuthenticationException {
+    private static final long serialVersionUID = 1L;
+
+    public LoginThrottledException(String message) {
+        super(message);
+    }
+}
@@ -1,24 +1,78 @@
 // Main.java
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Scanner;
+
 public class Main {
-    public static void main(String[] args) {
+    private static final String USERS_FILE    = "C:\\Users\\cring\\Desktop\\sc2002Project\\javaProject\\src\\users.csv";
+    private static final String PROJECTS_FILE = "C:\\Users\\cring\\Desktop\\sc2002Project\\javaProject\\src\\projects.csv";
+    private static final String JOURNAL_FILE  = PROJECTS_FILE + ".journal";
+    private static final String IDS_FILE      = PROJECTS_FILE + ".ids";
+    private static final int DEFAULT_PORT     = 5050;
+
+    public static void main(String[] args) throws IOException {
+        // 0) Event-fed indexes first, so they see every application as it loads
+        ApplicationRegistry.shared();
+        BookingIndex.shared();
+        BookingStatistics.shared();
+        EnquiryInbox.shared();
+        OpenProjectIndex.shared();
+        OfficerRegistrationService.shared();
+
+        // Resume ID sequences above everything handed out before a restart
+        IdAllocator.shared().attach(Path.of(IDS_FILE));
+
         // 1) Initialize repositories
-        UserRepository userRepo          = new CsvUserRepository("C:\\Users\\cring\\Desktop\\sc2002Project\\javaProject\\src\\users.csv");
+        UserRepository userRepo          = new CsvUserRepository(USERS_FILE);
         System.out.println(userRepo.findAll());
-        ProjectRepository projectRepo    = new CsvProjectRepository("C:\\Users\\cring\\Desktop\\sc2002Project\\javaProject\\src\\projects.csv");
+        // "--hash-passwords": hash every legacy plaintext password once, then exit
+        if (args.length > 0 && args[0].equals("--hash-passwords")) {
+            int hashed = UserFileHandler.hashLegacyPasswords(userRepo.findAll());
+            userRepo.saveAll(userRepo.findAll());
+            System.out.println("Hashed " + hashed + " plaintext passwords.");
+            return;
+        }
+        ProjectRepository projectRepo    = new CsvProjectRepository(PROJECTS_FILE, userRepo);
         OfficerRegistrationRepository regRepo =
             new InMemoryOfficerRegistrationRepository();
 
-        // 2) Authentication handler
+        // 2) Recover transitions made after the last save, then journal new ones
+        ApplicationJournal journal = new ApplicationJournal(JOURNAL_FILE);
+        journal.replay(projectRepo, userRepo);
+        DomainEvents.register(journal);
+
+        // 3) Authentication handler
         LoginHandler auth = new LoginHandler(userRepo);
 
-        // 3) Launch CLI
-        MainMenu menu = new MainMenu(auth, userRepo, projectRepo, regRepo);
-        menu.run();
+        // 4) Launch CLI, or with "--server [port]" serve concurrent sessions
+        //    on a loopback socket until "stop" (or end of input) on stdin
+        if (args.length > 0 && args[0].equals("--server")) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PORT;
+            try (SessionServer server = new SessionServer(port, auth, userRepo, projectRepo, regRepo)) {
+                Thread acceptor = new Thread(server::serve, "session-acceptor");
+                acceptor.start();
+                System.out.println("Serving sessions on port " + server.getPort() + "; type 'stop' to shut down.");
+                Scanner console = new Scanner(System.in);
+                while (console.hasNextLine() && !console.nextLine().trim().equals("stop")) {
+                    System.out.println("Active sessions: " + server.getActiveSessions()
+                        + ", completed: " + server.getCompletedSessions());
+                }
+            }
+        } else {
+            MainMenu menu = new MainMenu(auth, userRepo, projectRepo, regRepo);
+            menu.run();
+        }
 
-        // 4) On exit, persist any changes
+        // 5) On exit, persist any changes; once they are stored the journal is redundant
         userRepo.saveAll(userRepo.findAll());
-        projectRepo.saveAll(projectRepo.findAll());
+        boolean projectsSaved = projectRepo.saveAll(projectRepo.findAll());
         regRepo.saveAll(regRepo.findAll());
+        if (projectsSaved) {
+            journal.checkpoint();
+        } else {
+            System.err.println("Projects were not saved; keeping the journal for the next start.");
+        }
+        journal.close();
     }
 }
@@ -1,6 +1,6 @@
 // MainMenu.java
 
-import java.util.List;
+import java.io.PrintStream;
 import java.util.Scanner;
 
 /**
@@ -11,75 +11,95 @@ public class MainMenu extends Menu {
     private final UserRepository userRepo;
     private final ProjectRepository projectRepo;
     private final OfficerRegistrationRepository regRepo;
+    private final String source;
+    private final PrintStream out = getOut();
 
     public MainMenu(LoginHandler auth,
                     UserRepository userRepo,
                     ProjectRepository projectRepo,
                     OfficerRegistrationRepository regRepo) {
+        this(auth, userRepo, projectRepo, regRepo, new Scanner(System.in), System.out);
+    }
+
+    /** A main menu for one session on the given streams. */
+    public MainMenu(LoginHandler auth,
+                    UserRepository userRepo,
+                    ProjectRepository projectRepo,
+                    OfficerRegistrationRepository regRepo,
+                    Scanner in,
+                    PrintStream out) {
+        this(auth, userRepo, projectRepo, regRepo, in, out, null);
+    }
+
+    /**
+     * A main menu for one remote session; logins are rate limited by
+     * {@code source} (the client connection), or not at all when null.
+     */
+    public MainMenu(LoginHandler auth,
+                    UserRepository userRepo,
+                    ProjectRepository projectRepo,
+                    OfficerRegistrationRepository regRepo,
+                    Scanner in,
+                    PrintStream out,
+                    String source) {
+        super(in, out);
         this.auth        = auth;
         this.userRepo    = userRepo;
         this.projectRepo = projectRepo;
         this.regRepo     = regRepo;
-    }
-
-    @Override
-    public void displayMenu() {
-        System.out.println("\n=== Welcome to BTO Management System ===");
-        System.out.println("1. Log in");
-        System.out.println("0. Exit");
-        System.out.print("Choice: ");
-    }
+        this.source      = source;
 
-    @Override
-    public void handleOption(int option) {
-        switch (option) {
-            case 1:
-                loginFlow();
-                break;
-            case 0:
-                System.out.println("Goodbye!");
-                System.exit(0);
-                break;
-            default:
-                System.out.println("Invalid choice.");
-        }
+        // choosing 0 just ends run(); Main then saves before the process exits
+        setTitle("=== Welcome to BTO Management System ===", "Choice: ");
+        addOption(1, "Log in", this::loginFlow);
+        setExitOption("Exit", "Goodbye!");
     }
 
     private void loginFlow() {
         Scanner sc = getScanner();
-        System.out.print("NRIC: ");
+        out.print("NRIC: ");
         String nric = sc.nextLine().trim();
-        System.out.print("Password: ");
+        out.print("Password: ");
         String pwd  = sc.nextLine().trim();
 
         try {
-            User user = auth.authenticate(nric, pwd);
+            User user = auth.authenticate(nric, pwd, source);
 
             if (user instanceof HDBManager) {
+                // Booking reports and filters read the booking index, which needs these loaded.
+                projectRepo.loadBookings();
                 new HDBManagerMenu(
                     (HDBManager) user,
                     projectRepo.findAll(),
-                    regRepo.findAll()
+                    regRepo.findAll(),
+                    sc,
+                    out
                 ).run();
 
             } else if (user instanceof HDBOfficer) {
+                projectRepo.loadRecordsOf(user.getNric());
                 new HDBOfficerMenu(
                     (HDBOfficer) user,
-                    projectRepo.findAll()
+                    projectRepo.findAll(),
+                    sc,
+                    out
                 ).run();
 
             } else if (user instanceof Applicant) {
+                projectRepo.loadRecordsOf(user.getNric());
                 new ApplicantMenu(
                     (Applicant) user,
-                    projectRepo.findAll()
+                    projectRepo.findAll(),
+                    sc,
+                    out
                 ).run();
 
             } else {
-                System.out.println("Unknown role.");
+                out.println("Unknown role.");
             }
 
         } catch (IllegalArgumentException | AuthenticationException e) {
-            System.out.println("Error: " + e.getMessage());
+            out.println("Error: " + e.getMessage());
         }
     }
 }
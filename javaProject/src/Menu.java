@@ -1,36 +1,177 @@
+import java.io.PrintStream;
+import java.util.NoSuchElementException;
 import java.util.Scanner;
 
 /**
  * Base class for all CLI menus.  Provides:
- * 1) displayMenu()/handleOption(int) abstract methods  
- * 2) a run() loop that shows the menu, reads a choice, and dispatches  
- * 3) a protected Scanner for subclasses to reuse
+ * 1) an option table that subclasses fill with addOption()/setExitOption()
+ * 2) an iterative run() loop that shows the menu, reads a choice, and dispatches
+ * 3) a protected Scanner and output stream for subclasses to reuse
+ *
+ * Menus read from and print to the streams they are given, so the same
+ * menus serve the local console and remote sessions (see SessionServer).
+ *
+ * Actions never call run() again; the loop keeps going until the exit
+ * option (0) is chosen or input ends, so sessions of any length use a
+ * constant amount of stack.  The menu text is rendered once and choices
+ * are dispatched by array index, so a command costs no allocation here.
  */
 public abstract class Menu {
-    private final Scanner scanner = new Scanner(System.in);
+    private static final int MAX_OPTION = 99;
 
-    /** Show the menu options (implemented by subclasses). */
-    public abstract void displayMenu();
+    private final Scanner scanner;
+    private final PrintStream out;
 
-    /** Handle the user's choice (implemented by subclasses). */
-    public abstract void handleOption(int option);
+    private String title = "";
+    private String prompt = "Choice: ";
+    private String exitLabel = "Back";
+    private String exitMessage;
+    private final Runnable[] actions = new Runnable[MAX_OPTION + 1];
+    private final String[] labels = new String[MAX_OPTION + 1];
+    private int highestOption;
+    private String rendered;
+
+    /** A menu on the local console. */
+    protected Menu() {
+        this(new Scanner(System.in), System.out);
+    }
+
+    /** A menu on the given input and output, e.g. one client session. */
+    protected Menu(Scanner scanner, PrintStream out) {
+        this.scanner = scanner;
+        this.out     = out;
+    }
+
+    // ─── Option table ───────────────────────────────────────────────────────
+
+    /** Set the heading shown above the options and the prompt shown below them. */
+    protected void setTitle(String title, String prompt) {
+        this.title    = title;
+        this.prompt   = prompt;
+        this.rendered = null;
+    }
+
+    /** Register {@code action} under menu number {@code option} (1–99). */
+    protected void addOption(int option, String label, Runnable action) {
+        if (option < 1 || option > MAX_OPTION) {
+            throw new IllegalArgumentException("Menu option out of range: " + option);
+        }
+        actions[option] = action;
+        labels[option]  = label;
+        highestOption   = Math.max(highestOption, option);
+        rendered        = null;
+    }
+
+    /** Label option 0 and the message printed when it is chosen. */
+    protected void setExitOption(String label, String message) {
+        this.exitLabel   = label;
+        this.exitMessage = message;
+        this.rendered    = null;
+    }
+
+    // ─── Loop ───────────────────────────────────────────────────────────────
+
+    /** Show the menu options. */
+    public void displayMenu() {
+        if (rendered == null) {
+            rendered = render();
+        }
+        out.print(rendered);
+    }
+
+    /** Handle one choice of the user. */
+    public void handleOption(int option) {
+        dispatch(option);
+    }
 
     /**
-     * Continuously display the menu and process input until the user enters 0.
+     * Continuously display the menu and process input until the user enters 0
+     * or the input is closed.
      */
     public void run() {
-        int choice;
-        do {
-            displayMenu();
-            String line = scanner.nextLine().trim();
-            try {
-                choice = Integer.parseInt(line);
-            } catch (NumberFormatException e) {
-                choice = -1;
+        try {
+            while (true) {
+                displayMenu();
+                if (!dispatch(parseChoice(scanner.nextLine()))) {
+                    return;
+                }
             }
-            handleOption(choice);
-            // if handleOption(0) returned or exited, loop will end because choice == 0
-        } while (choice != 0);
+        } catch (NoSuchElementException e) {
+            // input closed (end of stdin or client disconnected): end the session
+        }
+    }
+
+    /** @return false once the exit option has been chosen. */
+    private boolean dispatch(int option) {
+        if (option == 0) {
+            if (exitMessage != null) {
+                out.println(exitMessage);
+            }
+            return false;
+        }
+        Runnable action = option > 0 && option <= MAX_OPTION ? actions[option] : null;
+        if (action == null) {
+            out.println("Invalid choice.");
+            return true;
+        }
+        try {
+            action.run();
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            out.println("Error: " + e.getMessage());
+        }
+        return true;
+    }
+
+    /** Parse a menu number without trimming or exceptions; -1 if not a number. */
+    private static int parseChoice(String line) {
+        int start = 0;
+        int end = line.length();
+        while (start < end && Character.isWhitespace(line.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(line.charAt(end - 1))) {
+            end--;
+        }
+        if (start == end || end - start > 3) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int d = line.charAt(i) - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    /**
+     * Lay out the menu as the hand-written menus printed it: "1. View" when
+     * every option has one digit, and "1.  Create" next to "10. Approve"
+     * once an option has two, as the manager menu always had.
+     */
+    private String render() {
+        int width = Integer.toString(highestOption).length() + 1;
+        StringBuilder sb = new StringBuilder();
+        sb.append('\n').append(title).append(System.lineSeparator());
+        for (int i = 1; i <= highestOption; i++) {
+            if (labels[i] != null) {
+                appendOption(sb, i, labels[i], width);
+            }
+        }
+        appendOption(sb, 0, exitLabel, width);
+        sb.append(prompt);
+        return sb.toString();
+    }
+
+    private static void appendOption(StringBuilder sb, int option, String label, int width) {
+        String key = option + ".";
+        sb.append(key);
+        for (int i = key.length(); i <= width; i++) {
+            sb.append(' ');
+        }
+        sb.append(label).append(System.lineSeparator());
     }
 
     /**
@@ -39,4 +180,11 @@ public abstract class Menu {
     protected Scanner getScanner() {
         return scanner;
     }
+
+    /**
+     * Give subclasses access to the same output stream.
+     */
+    protected PrintStream getOut() {
+        return out;
+    }
 }
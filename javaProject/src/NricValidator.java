@@ -0,0 +1,81 @@
+// NricValidator.java
+
+import java.nio.ByteBuffer;
+
+/**
+ * Hand-written NRIC check: 'S' or 'T', seven digits, one uppercase letter.
+ *
+ * Works directly on characters or on raw ASCII bytes, so validating a
+ * login or a row of a bulk load allocates nothing.  The checksum variant
+ * also verifies that the letter is the one the weighted digit sum
+ * prescribes (weights 2,7,6,5,4,3,2; +4 for 'T'; letters JZIHGFEDCBA).
+ */
+public final class NricValidator {
+    /** Format only, equivalent to {@code ^[ST]\d{7}[A-Z]$}. */
+    public static final NricValidator FORMAT = new NricValidator(false);
+    /** Format plus checksum letter. */
+    public static final NricValidator CHECKSUM = new NricValidator(true);
+
+    private static final int LENGTH = 9;
+    private static final int[] WEIGHTS = {2, 7, 6, 5, 4, 3, 2};
+    private static final String CHECK_LETTERS = "JZIHGFEDCBA";
+
+    private final boolean verifyChecksum;
+
+    private NricValidator(boolean verifyChecksum) {
+        this.verifyChecksum = verifyChecksum;
+    }
+
+    /** @return true if {@code nric} is a well-formed NRIC (null is not). */
+    public boolean isValid(CharSequence nric) {
+        if (nric == null || nric.length() != LENGTH) {
+            return false;
+        }
+        char prefix = nric.charAt(0);
+        if (prefix != 'S' && prefix != 'T') {
+            return false;
+        }
+        int sum = 0;
+        for (int i = 0; i < WEIGHTS.length; i++) {
+            int d = nric.charAt(i + 1) - '0';
+            if (d < 0 || d > 9) {
+                return false;
+            }
+            sum += d * WEIGHTS[i];
+        }
+        return checkLetter(prefix, sum, nric.charAt(LENGTH - 1));
+    }
+
+    /** Same check over ASCII bytes {@code [from, to)} of {@code buf}, by absolute index. */
+    public boolean isValid(ByteBuffer buf, int from, int to) {
+        if (to - from != LENGTH) {
+            return false;
+        }
+        int prefix = buf.get(from);
+        if (prefix != 'S' && prefix != 'T') {
+            return false;
+        }
+        int sum = 0;
+        for (int i = 0; i < WEIGHTS.length; i++) {
+            int d = buf.get(from + i + 1) - '0';
+            if (d < 0 || d > 9) {
+                return false;
+            }
+            sum += d * WEIGHTS[i];
+        }
+        return checkLetter(prefix, sum, buf.get(to - 1));
+    }
+
+    private boolean checkLetter(int prefix, int sum, int letter) {
+        if (letter < 'A' || letter > 'Z') {
+            return false;
+        }
+        if (!verifyChecksum) {
+            return true;
+        }
+        if (prefix == 'T') {
+            sum += 4;
+        }
+        return letter == CHECK_LETTERS.charAt(sum % 11);
+    }
+}
@@ -1,18 +1,43 @@
+import enums.IdSequence;
 import enums.RegistrationStatus;
 
-public class OfficerRegistration {
-    private static int nextId = 1;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * An officer's request to handle a project.  Status changes go through
+ * {@link OfficerRegistrationService}, which keeps them in step with the
+ * project's officer slots.
+ */
+public class OfficerRegistration {
     private final int id;
     private final Project project;
     private final User officer;
-    private RegistrationStatus status;
+    private final AtomicReference<RegistrationStatus> status;
 
     public OfficerRegistration(Project project, User officer) {
-        this.id      = nextId++;
+        this.id      = IdAllocator.shared().nextInt(IdSequence.REGISTRATION);
+        this.project = project;
+        this.officer = officer;
+        this.status  = new AtomicReference<>(RegistrationStatus.Pending);
+    }
+
+    /** Restore a persisted registration with its original ID. */
+    OfficerRegistration(int id, Project project, User officer, RegistrationStatus status) {
+        this.id      = id;
         this.project = project;
         this.officer = officer;
-        this.status  = RegistrationStatus.Pending;  // use your enum’s Pending
+        this.status  = new AtomicReference<>(status);
+        reserveIdsThrough(id);
+    }
+
+    /** Make sure new registrations are numbered after {@code lastUsedID}. */
+    static void reserveIdsThrough(int lastUsedID) {
+        IdAllocator.shared().reserveThrough(IdSequence.REGISTRATION, lastUsedID);
+    }
+
+    /** @return an ID above every registration ID handed out so far. */
+    static int peekNextId() {
+        return Math.toIntExact(IdAllocator.shared().peekHighWater(IdSequence.REGISTRATION));
     }
 
     public int getId() {
@@ -28,19 +53,19 @@ public class OfficerRegistration {
     }
 
     public RegistrationStatus getStatus() {
-        return status;
+        return status.get();
     }
 
-    /** Now accepts your enum type */
-    public void setStatus(RegistrationStatus status) {
-        this.status = status;
+    /** Move from {@code expected} to {@code next}; @return false, changing nothing, if not in {@code expected}. */
+    boolean compareAndSetStatus(RegistrationStatus expected, RegistrationStatus next) {
+        return status.compareAndSet(expected, next);
     }
 
     @Override
     public String toString() {
         return String.format(
             "Reg[%d] Officer:%s Project:%s Status:%s",
-            id, officer.getNric(), project.getProjectID(), status
+            id, officer.getNric(), project.getProjectID(), status.get()
         );
     }
 }
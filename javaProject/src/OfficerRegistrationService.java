@@ -0,0 +1,161 @@
+// OfficerRegistrationService.java
+
+import enums.RegistrationStatus;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide owner of officer registrations: creates them, admits them
+ * against their project's officer slots, and indexes them by ID, by
+ * project and by officer.
+ *
+ * Admission takes a slot with a CAS on the project's counter first and
+ * only then moves the registration from Pending to Approved with a
+ * second CAS, returning the slot if that loses a race.  A registration is
+ * therefore never Approved without a slot, and concurrent approvals never
+ * overfill a project.
+ *
+ * Indexes are kept current through {@link DomainEvents}: registrations
+ * added to a project (new or read back from storage) and project
+ * deletions.
+ */
+public class OfficerRegistrationService implements DomainListener {
+    private static final OfficerRegistrationService SHARED = new OfficerRegistrationService();
+
+    static {
+        DomainEvents.register(SHARED);
+    }
+
+    private final Map<Integer, OfficerRegistration> byId = new ConcurrentHashMap<>();
+    private final Map<String, Set<OfficerRegistration>> byProject = new ConcurrentHashMap<>();
+    private final Map<String, Set<OfficerRegistration>> byOfficer = new ConcurrentHashMap<>();
+
+    /** @return the service fed by the domain events of this process. */
+    public static OfficerRegistrationService shared() {
+        return SHARED;
+    }
+
+    // ─── Commands ───────────────────────────────────────────────────────────
+
+    /**
+     * Ask to handle {@code project}; the registration starts Pending.
+     * Callers serialise per officer (see {@link HDBOfficer#registerForProject}).
+     * @throws IllegalStateException if already pending or approved for it, or outside its period
+     */
+    public OfficerRegistration register(User officer, Project project) {
+        // Stored registrations must be indexed, and their IDs reserved, first.
+        Project.ensureChildrenLoaded(List.of(project));
+        for (OfficerRegistration r : findByOfficer(officer)) {
+            if (r.getProject() == project && r.getStatus() != RegistrationStatus.Rejected) {
+                throw new IllegalStateException("Already requested registration for project " + project.getProjectID());
+            }
+        }
+        if (!project.isWithinApplicationPeriod()) {
+            throw new IllegalStateException("Cannot register outside application period");
+        }
+        OfficerRegistration reg = new OfficerRegistration(project, officer);
+        project.addOfficerRegistration(reg);
+        return reg;
+    }
+
+    /**
+     * Approve a Pending registration, taking one of its project's slots.
+     * @throws IllegalStateException if no slot remains or it is not Pending;
+     *         either way nothing changes
+     */
+    public void approve(OfficerRegistration reg) {
+        if (reg.getStatus() != RegistrationStatus.Pending) {
+            throw new IllegalStateException("Registration " + reg.getId() + " is not pending");
+        }
+        Project project = reg.getProject();
+        if (!project.tryOccupyOfficerSlot()) {
+            throw new IllegalStateException("No HDB officer slots remaining");
+        }
+        if (!reg.compareAndSetStatus(RegistrationStatus.Pending, RegistrationStatus.Approved)) {
+            project.releaseOfficerSlot();
+            throw new IllegalStateException("Registration " + reg.getId() + " is not pending");
+        }
+    }
+
+    /**
+     * Reject a Pending registration.
+     * @throws IllegalStateException if it is not Pending
+     */
+    public void reject(OfficerRegistration reg) {
+        if (!reg.compareAndSetStatus(RegistrationStatus.Pending, RegistrationStatus.Rejected)) {
+            throw new IllegalStateException("Registration " + reg.getId() + " is not pending");
+        }
+    }
+
+    // ─── Queries ────────────────────────────────────────────────────────────
+
+    /** @return the registration with this ID, or null if not indexed. */
+    public OfficerRegistration find(int registrationID) {
+        return byId.get(registrationID);
+    }
+
+    /** @return a live read-only view of the registrations for {@code project}. */
+    public Collection<OfficerRegistration> findByProject(Project project) {
+        return view(byProject.get(project.getProjectID()));
+    }
+
+    /** @return a live read-only view of {@code officer}'s registrations. */
+    public Collection<OfficerRegistration> findByOfficer(User officer) {
+        return view(byOfficer.get(officer.getNric()));
+    }
+
+    /**
+     * @return {@code officer}'s Approved registration, else a Pending one,
+     *         else the latest Rejected one; null if there are none
+     */
+    public OfficerRegistration findCurrent(User officer) {
+        OfficerRegistration best = null;
+        for (OfficerRegistration r : findByOfficer(officer)) {
+            if (best == null || rank(r) > rank(best) || (rank(r) == rank(best) && r.getId() > best.getId())) {
+                best = r;
+            }
+        }
+        return best;
+    }
+
+    private static int rank(OfficerRegistration r) {
+        switch (r.getStatus()) {
+            case Approved: return 2;
+            case Pending:  return 1;
+            default:       return 0;
+        }
+    }
+
+    private static Collection<OfficerRegistration> view(Set<OfficerRegistration> regs) {
+        return regs == null ? Collections.emptySet() : Collections.unmodifiableSet(regs);
+    }
+
+    // ─── DomainListener ─────────────────────────────────────────────────────
+
+    @Override
+    public void officerRegistrationAdded(OfficerRegistration reg) {
+        byId.put(reg.getId(), reg);
+        byProject.computeIfAbsent(reg.getProject().getProjectID(), k -> ConcurrentHashMap.newKeySet()).add(reg);
+        byOfficer.computeIfAbsent(reg.getOfficer().getNric(), k -> ConcurrentHashMap.newKeySet()).add(reg);
+    }
+
+    @Override
+    public void projectRemoved(Project project) {
+        Set<OfficerRegistration> regs = byProject.remove(project.getProjectID());
+        if (regs == null) {
+            return;
+        }
+        for (OfficerRegistration r : regs) {
+            byId.remove(r.getId(), r);
+            Set<OfficerRegistration> mine = byOfficer.get(r.getOfficer().getNric());
+            if (mine != null) {
+                mine.remove(r);
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+// OpenProjectIndex.java
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Process-wide set of the projects applicants can apply to today: visible
+ * and within their application period.
+ *
+ * "Today" is cached and only re-read from the clock once the cached
+ * day's midnight has passed.  Projects are also filed in two calendars,
+ * by opening and by closing date, so the midnight roll-over only
+ * re-checks projects that open or close on the days it skips.  Kept
+ * current through {@link DomainEvents}: projects added or removed, and
+ * visibility or period changes.
+ */
+public class OpenProjectIndex implements DomainListener {
+    private static final OpenProjectIndex SHARED = new OpenProjectIndex(Clock.systemDefaultZone());
+
+    static {
+        DomainEvents.register(SHARED);
+    }
+
+    /** A project and the dates it is filed under in the calendars. */
+    private static final class Entry {
+        final Project project;
+        LocalDate opening;
+        LocalDate closing;
+
+        Entry(Project project) {
+            this.project = project;
+        }
+    }
+
+    private final Clock clock;
+    private volatile LocalDate today;
+    private volatile long nextMidnightMillis;
+
+    /** Open projects by ID, readable without locking. */
+    private final Map<String, Project> open = new ConcurrentSkipListMap<>();
+    private volatile long version;  // written under this
+
+    // guarded by this
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final NavigableMap<LocalDate, Set<Entry>> byOpening = new TreeMap<>();
+    private final NavigableMap<LocalDate, Set<Entry>> byClosing = new TreeMap<>();
+
+    OpenProjectIndex(Clock clock) {
+        this.clock = clock;
+        rollOver();
+    }
+
+    /** @return the index fed by the domain events of this process. */
+    public static OpenProjectIndex shared() {
+        return SHARED;
+    }
+
+    /** @return the current date, re-read from the clock at most once a day. */
+    public LocalDate today() {
+        if (clock.millis() >= nextMidnightMillis) {
+            rollOver();
+        }
+        return today;
+    }
+
+    /** @return a live read-only view of today's open projects, by project ID. */
+    public Collection<Project> findOpen() {
+        today();
+        return Collections.unmodifiableCollection(open.values());
+    }
+
+    /** @return a number that changes whenever the set of open projects does. */
+    public long version() {
+        today();
+        return version;
+    }
+
+    // ─── DomainListener ─────────────────────────────────────────────────────
+
+    @Override
+    public synchronized void projectAdded(Project project) {
+        Entry e = entries.computeIfAbsent(project.getProjectID(), k -> new Entry(project));
+        refile(e);
+    }
+
+    @Override
+    public synchronized void projectRemoved(Project project) {
+        Entry e = entries.remove(project.getProjectID());
+        if (e != null) {
+            unfile(e);
+            if (open.remove(project.getProjectID(), project)) {
+                version++;
+            }
+        }
+    }
+
+    @Override
+    public synchronized void projectListingChanged(Project project) {
+        Entry e = entries.get(project.getProjectID());
+        if (e != null && e.project == project) {
+            refile(e);
+        }
+    }
+
+    // ─── Calendars ──────────────────────────────────────────────────────────
+
+    private void refile(Entry e) {
+        unfile(e);
+        e.opening = e.project.getApplicationOpeningDate();
+        e.closing = e.project.getApplicationClosingDate();
+        byOpening.computeIfAbsent(e.opening, d -> new HashSet<>()).add(e);
+        byClosing.computeIfAbsent(e.closing, d -> new HashSet<>()).add(e);
+        recheck(e);
+    }
+
+    private void unfile(Entry e) {
+        if (e.opening == null) {
+            return;
+        }
+        remove(byOpening, e.opening, e);
+        remove(byClosing, e.closing, e);
+    }
+
+    private static void remove(NavigableMap<LocalDate, Set<Entry>> calendar, LocalDate day, Entry e) {
+        Set<Entry> entriesOnDay = calendar.get(day);
+        if (entriesOnDay != null && entriesOnDay.remove(e) && entriesOnDay.isEmpty()) {
+            calendar.remove(day);
+        }
+    }
+
+    private void recheck(Entry e) {
+        boolean changed;
+        if (e.project.isVisible() && e.project.isOpenOn(today)) {
+            changed = open.put(e.project.getProjectID(), e.project) != e.project;
+        } else {
+            changed = open.remove(e.project.getProjectID(), e.project);
+        }
+        if (changed) {
+            version++;
+        }
+    }
+
+    /**
+     * Advance "today" and re-check the projects whose period began after
+     * the old day or ended before the new one.
+     */
+    private synchronized void rollOver() {
+        long now = clock.millis();
+        if (now < nextMidnightMillis) {
+            return;
+        }
+        LocalDate previous = today;
+        LocalDate current  = LocalDate.now(clock);
+        today              = current;
+        nextMidnightMillis = current.plusDays(1).atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+
+        if (previous == null || current.equals(previous)) {
+            return;
+        }
+        if (current.isBefore(previous)) {  // clock set back: re-check everything
+            entries.values().forEach(this::recheck);
+            return;
+        }
+        byOpening.subMap(previous, false, current, true).values().forEach(s -> s.forEach(this::recheck));
+        byClosing.subMap(previous, true, current, false).values().forEach(s -> s.forEach(this::recheck));
+    }
+}
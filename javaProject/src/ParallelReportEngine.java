@@ -0,0 +1,161 @@
+// ParallelReportEngine.java
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiPredicate;
+
+/**
+ * Builds the booking report for many projects in parallel.
+ *
+ * Projects are grouped into shards of consecutive projects, each holding
+ * at most {@link #SHARD_APPLICATIONS} applications (a larger project gets
+ * a shard of its own).  Shards are filtered and encoded on the fork-join
+ * pool, each into its own temporary file next to the output.  The shard
+ * files are then appended to the output in project order with
+ * {@link FileChannel#transferTo}, so the result is identical to a
+ * sequential walk over the projects.
+ */
+public class ParallelReportEngine {
+    static final int SHARD_APPLICATIONS = 50_000;
+
+    private final ForkJoinPool pool;
+
+    public ParallelReportEngine() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelReportEngine(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Write the booked applications of {@code projects} that match
+     * {@code filter} (null for none) to {@code out}.
+     * @return the number of rows written, excluding the header
+     */
+    public long generate(List<Project> projects, Filter filter, Path out, boolean compress)
+            throws IOException {
+        // Shards index by position, so they must all see the same list.
+        projects = List.copyOf(projects);
+        int[] bounds = shardBounds(projects);
+        int shards = bounds.length - 1;
+        Path dir = out.toAbsolutePath().getParent();
+        Path[] parts = new Path[shards];
+        long[] rows = new long[shards];
+        BiPredicate<Applicant, Project> matcher = filter == null ? null : filter.compile(projects);
+
+        try {
+            for (int i = 0; i < shards; i++) {
+                parts[i] = Files.createTempFile(dir, "report-shard-", ".part");
+            }
+            if (shards > 0) {
+                pool.invoke(new ShardTask(projects, matcher, compress, bounds, parts, rows, 0, shards));
+            }
+
+            new BookingReportWriter(out, compress).close();     // header only
+            long total = 0;
+            try (FileChannel target = FileChannel.open(out, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                for (int i = 0; i < shards; i++) {
+                    try (FileChannel part = FileChannel.open(parts[i], StandardOpenOption.READ)) {
+                        long size = part.size();
+                        for (long pos = 0; pos < size; ) {
+                            pos += part.transferTo(pos, size - pos, target);
+                        }
+                    }
+                    total += rows[i];
+                }
+            }
+            return total;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            for (Path part : parts) {
+                if (part != null) {
+                    Files.deleteIfExists(part);
+                }
+            }
+        }
+    }
+
+    /** Shard i covers projects [bounds[i], bounds[i + 1]). */
+    private static int[] shardBounds(List<Project> projects) {
+        int n = projects.size();
+        int[] bounds = new int[n + 1];
+        int shards = 0;
+        int inShard = 0;
+        for (int i = 0; i < n; i++) {
+            int size = projects.get(i).getApplications().size();
+            if (i > 0 && inShard > 0 && inShard + size > SHARD_APPLICATIONS) {
+                bounds[++shards] = i;
+                inShard = 0;
+            }
+            inShard += size;
+        }
+        if (n > 0) {
+            bounds[++shards] = n;
+        }
+        int[] trimmed = new int[shards + 1];
+        System.arraycopy(bounds, 0, trimmed, 0, shards + 1);
+        return trimmed;
+    }
+
+    /** Divide-and-conquer over shard indices [from, to). */
+    private static final class ShardTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Project> projects;
+        private final BiPredicate<Applicant, Project> filter;
+        private final boolean compress;
+        private final int[] bounds;
+        private final Path[] parts;
+        private final long[] rows;
+        private final int from;
+        private final int to;
+
+        ShardTask(List<Project> projects, BiPredicate<Applicant, Project> filter, boolean compress,
+                  int[] bounds, Path[] parts, long[] rows, int from, int to) {
+            this.projects = projects;
+            this.filter   = filter;
+            this.compress = compress;
+            this.bounds   = bounds;
+            this.parts    = parts;
+            this.rows     = rows;
+            this.from     = from;
+            this.to       = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                writeShard(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(
+                new ShardTask(projects, filter, compress, bounds, parts, rows, from, mid),
+                new ShardTask(projects, filter, compress, bounds, parts, rows, mid, to));
+        }
+
+        private void writeShard(int shard) {
+            try (BookingReportWriter writer = new BookingReportWriter(parts[shard], compress, false)) {
+                for (int p = bounds[shard]; p < bounds[shard + 1]; p++) {
+                    for (Application app : projects.get(p).getApplications()) {
+                        if (BookingReportWriter.isReportable(app, filter)) {
+                            writer.write(app);
+                        }
+                    }
+                }
+                rows[shard] = writer.getRowCount();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
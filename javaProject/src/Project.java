@@ -2,27 +2,47 @@ import enums.FlatType;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Represents a Build-To-Order (BTO) project listing.
  */
 public class Project {
     private final String projectID;
-    private String projectName;
-    private String neighborhood;
-    private int twoRoomUnits;
-    private int threeRoomUnits;
-    private LocalDate applicationOpeningDate;
-    private LocalDate applicationClosingDate;
-    private boolean visible;
-    private HDBManager managerInCharge;
-    private int availableOfficerSlots;
-
-    private final List<Enquiry> enquiries = new ArrayList<>();
-    private final List<Application> applications = new ArrayList<>();
-    private final List<OfficerRegistration> officerRegistrations = new ArrayList<>();
+    private volatile String projectName;
+    private volatile String neighborhood;
+    private final FlatInventory inventory;
+    private volatile LocalDate applicationOpeningDate;
+    private volatile LocalDate applicationClosingDate;
+    private volatile boolean visible;
+    private volatile HDBManager managerInCharge;
+    private final AtomicInteger availableOfficerSlots;
+
+    // Copy-on-write: readers iterate a stable snapshot without copying or locking.
+    private final List<Enquiry> enquiries = new CopyOnWriteArrayList<>();
+    private final List<Application> applications = new CopyOnWriteArrayList<>();
+    private final List<OfficerRegistration> officerRegistrations = new CopyOnWriteArrayList<>();
+
+    private final Map<Integer, Enquiry> enquiriesById = new ConcurrentHashMap<>();
+    private final Map<String, Application> applicationsById = new ConcurrentHashMap<>();
+    private final Map<Integer, OfficerRegistration> registrationsById = new ConcurrentHashMap<>();
+
+    // Set by the repository when children are still on disk; run once on first access.
+    private volatile Runnable childLoader;
+    private Runnable afterChildrenLoaded;
+    private boolean loadingChildren;
+
+    // Rows added by the running child loader; appended to the copy-on-write
+    // lists in one copy each instead of one copy per row.
+    private List<Enquiry> loadedEnquiries;
+    private List<Application> loadedApplications;
+    private List<OfficerRegistration> loadedRegistrations;
 
     public Project(String projectID,
                    String projectName,
@@ -36,18 +56,18 @@ public class Project {
         this.projectID             = Objects.requireNonNull(projectID);
         this.projectName           = Objects.requireNonNull(projectName);
         this.neighborhood          = Objects.requireNonNull(neighborhood);
-        this.twoRoomUnits          = twoRoomUnits;
-        this.threeRoomUnits        = threeRoomUnits;
+        this.inventory             = new FlatInventory(twoRoomUnits, threeRoomUnits);
         this.applicationOpeningDate= Objects.requireNonNull(openingDate);
         this.applicationClosingDate= Objects.requireNonNull(closingDate);
         this.visible               = true;
         this.managerInCharge       = Objects.requireNonNull(managerInCharge);
-        this.availableOfficerSlots = availableOfficerSlots;
+        this.availableOfficerSlots = new AtomicInteger(availableOfficerSlots);
     }
 
     /** Toggle whether applicants see this project. */
-    public void toggleVisibility() {
+    public synchronized void toggleVisibility() {
         this.visible = !this.visible;
+        DomainEvents.projectListingChanged(this);
     }
 
     public boolean isVisible() {
@@ -56,48 +76,234 @@ public class Project {
 
     /** Within the start–end application window? */
     public boolean isWithinApplicationPeriod() {
-        LocalDate now = LocalDate.now();
-        return (now.isEqual(applicationOpeningDate) || now.isAfter(applicationOpeningDate))
-            && (now.isEqual(applicationClosingDate) || now.isBefore(applicationClosingDate));
+        return isOpenOn(OpenProjectIndex.shared().today());
+    }
+
+    /** Is {@code day} within the start–end application window? */
+    public boolean isOpenOn(LocalDate day) {
+        return !day.isBefore(applicationOpeningDate) && !day.isAfter(applicationClosingDate);
     }
 
     /** Add a new enquiry. */
     public void addEnquiry(Enquiry enquiry) {
-        enquiries.add(enquiry);
+        ensureChildrenLoaded();
+        enquiriesById.put(enquiry.getEnquiryID(), enquiry);
+        (isLoadingChildren() ? loadedEnquiries : enquiries).add(enquiry);
+    }
+
+    /** Remove an enquiry. @return true if it belonged to this project. */
+    public boolean removeEnquiry(Enquiry enquiry) {
+        ensureChildrenLoaded();
+        if (!enquiriesById.remove(enquiry.getEnquiryID(), enquiry)) {
+            return false;
+        }
+        enquiries.remove(enquiry);
+        return true;
     }
 
     /** Add a new application. */
     public void addApplication(Application application) {
-        applications.add(application);
+        ensureChildrenLoaded();
+        applicationsById.put(application.getApplicationID(), application);
+        (isLoadingChildren() ? loadedApplications : applications).add(application);
     }
 
     /** Add a new officer registration. */
     public void addOfficerRegistration(OfficerRegistration reg) {
-        officerRegistrations.add(reg);
+        ensureChildrenLoaded();
+        registrationsById.put(reg.getId(), reg);
+        (isLoadingChildren() ? loadedRegistrations : officerRegistrations).add(reg);
+        DomainEvents.officerRegistrationAdded(reg);
     }
 
-    /** Called when an application is approved/booked to decrement stock. */
-    public void decrementUnits(FlatType flatType) {
-        switch (flatType) {
-            case Two_Room  -> twoRoomUnits = Math.max(0, twoRoomUnits - 1);
-            case Three_Room-> threeRoomUnits = Math.max(0, threeRoomUnits - 1);
+    // ─── Lookups by ID ──────────────────────────────────────────────────────
+
+    /** @return the enquiry with this ID on this project, or null. */
+    public Enquiry findEnquiry(int enquiryID) {
+        ensureChildrenLoaded();
+        return enquiriesById.get(enquiryID);
+    }
+
+    /** @return true if {@code enquiry} belongs to this project. */
+    public boolean hasEnquiry(Enquiry enquiry) {
+        return enquiry != null && findEnquiry(enquiry.getEnquiryID()) == enquiry;
+    }
+
+    /** @return the application with this ID on this project, or null. */
+    public Application findApplication(String applicationID) {
+        ensureChildrenLoaded();
+        return applicationID == null ? null : applicationsById.get(applicationID);
+    }
+
+    /** @return the officer registration with this ID on this project, or null. */
+    public OfficerRegistration findOfficerRegistration(int registrationID) {
+        ensureChildrenLoaded();
+        return registrationsById.get(registrationID);
+    }
+
+    // ─── Lazy child loading ─────────────────────────────────────────────────
+
+    /**
+     * Defer loading of enquiries, applications and registrations until one
+     * of them is first accessed.  The loader may call the add* methods.
+     */
+    void setChildLoader(Runnable loader) {
+        setChildLoader(loader, null);
+    }
+
+    /**
+     * As {@link #setChildLoader(Runnable)}; {@code afterLoad} (may be null)
+     * then runs once the loaded children are visible through the getters.
+     */
+    synchronized void setChildLoader(Runnable loader, Runnable afterLoad) {
+        this.afterChildrenLoaded = afterLoad;
+        this.childLoader = loader;
+    }
+
+    /**
+     * Load the children of every project not yet in memory, so that
+     * event-fed indexes and statistics cover all of them.
+     */
+    static void ensureChildrenLoaded(Iterable<Project> projects) {
+        for (Project p : projects) {
+            p.ensureChildrenLoaded();
+        }
+    }
+
+    /** @return true once this project's child records are in memory. */
+    boolean isChildrenLoaded() {
+        return childLoader == null;
+    }
+
+    private void ensureChildrenLoaded() {
+        if (childLoader == null) {
+            return;
+        }
+        synchronized (this) {
+            Runnable loader = childLoader;
+            if (loader == null || loadingChildren) {
+                return;
+            }
+            loadingChildren     = true;
+            loadedEnquiries     = new ArrayList<>();
+            loadedApplications  = new ArrayList<>();
+            loadedRegistrations = new ArrayList<>();
+            Runnable after;
+            try {
+                loader.run();
+                enquiries.addAll(loadedEnquiries);
+                applications.addAll(loadedApplications);
+                officerRegistrations.addAll(loadedRegistrations);
+                childLoader = null;
+                after = afterChildrenLoaded;
+                afterChildrenLoaded = null;
+            } catch (RuntimeException | Error e) {
+                // Drop the partial load so the next access starts over without duplicates.
+                loadedEnquiries.forEach(en -> enquiriesById.remove(en.getEnquiryID(), en));
+                loadedApplications.forEach(a -> applicationsById.remove(a.getApplicationID(), a));
+                loadedRegistrations.forEach(r -> registrationsById.remove(r.getId(), r));
+                throw e;
+            } finally {
+                loadedEnquiries     = null;
+                loadedApplications  = null;
+                loadedRegistrations = null;
+                loadingChildren     = false;
+            }
+            if (after != null) {
+                after.run();  // still under the lock, so other first accessors wait for it
+            }
         }
     }
 
+    /** True only on the thread currently running the child loader. */
+    private boolean isLoadingChildren() {
+        return Thread.holdsLock(this) && loadingChildren;
+    }
+
+    /**
+     * Atomically take one unit of {@code flatType} if any remain.
+     * Safe to call from many threads; never oversells.
+     * @return true if a unit was reserved.
+     */
+    public boolean tryReserve(FlatType flatType) {
+        long state = inventory.reserve(flatType);
+        if (state < 0) {
+            return false;
+        }
+        publishUnits(flatType, state);
+        return true;
+    }
+
+    /**
+     * Atomically take up to {@code wanted} units of {@code flatType} in one update.
+     * @return the number of units reserved (0 if none remained).
+     */
+    public int tryReserve(FlatType flatType, int wanted) {
+        long before = inventory.reserveUpTo(flatType, wanted);
+        if (before < 0) {
+            return 0;
+        }
+        int granted = Math.min(wanted, FlatInventory.units(before));
+        publishUnits(flatType, FlatInventory.afterTaking(before, granted));
+        return granted;
+    }
+
+    /** Called when an application is approved/booked to decrement stock (no-op at zero). */
+    public void decrementUnits(FlatType flatType) {
+        tryReserve(flatType);
+    }
+
     /** Called when a booked application is withdrawn to return a unit. */
     public void incrementUnits(FlatType flatType) {
-        switch (flatType) {
-            case Two_Room  -> twoRoomUnits++;
-            case Three_Room-> threeRoomUnits++;
-        }
+        releaseUnits(flatType, 1);
     }
 
-    /** Occupy one officer slot (after manager approval). */
-    public void occupyOfficerSlot() {
-        if (availableOfficerSlots <= 0) {
-            throw new IllegalStateException("No HDB officer slots remaining");
+    /** Return {@code count} reserved but unused units of {@code flatType}. */
+    void releaseUnits(FlatType flatType, int count) {
+        publishUnits(flatType, inventory.release(flatType, count));
+    }
+
+    /** @return the available units of the given flat type. */
+    public int getUnits(FlatType flatType) {
+        return inventory.get(flatType);
+    }
+
+    /** @return the lock-free counters behind this project's unit totals. */
+    FlatInventory getInventory() {
+        return inventory;
+    }
+
+    /** Overwrite units and change version of one flat type; publishes unitsRestored only. */
+    void restoreUnits(FlatType flatType, int units, int version) {
+        inventory.restore(flatType, units, version);
+        DomainEvents.unitsRestored(this, flatType, units, version);
+    }
+
+    void publishUnits(FlatType flatType, long state) {
+        DomainEvents.unitsChanged(this, flatType,
+            FlatInventory.units(state), FlatInventory.version(state));
+    }
+
+    /**
+     * Atomically take one officer slot if any remain; see
+     * {@link OfficerRegistrationService#approve}.
+     * @return true if a slot was taken
+     */
+    boolean tryOccupyOfficerSlot() {
+        while (true) {
+            int slots = availableOfficerSlots.get();
+            if (slots <= 0) {
+                return false;
+            }
+            if (availableOfficerSlots.compareAndSet(slots, slots - 1)) {
+                return true;
+            }
         }
-        availableOfficerSlots--;
+    }
+
+    /** Give back a slot taken by {@link #tryOccupyOfficerSlot}. */
+    void releaseOfficerSlot() {
+        availableOfficerSlots.incrementAndGet();
     }
 
     // ─── Getters & setters ──────────────────────────────────────────────────
@@ -123,19 +329,19 @@ public class Project {
     }
 
     public int getTwoRoomUnits() {
-        return twoRoomUnits;
+        return inventory.get(FlatType.Two_Room);
     }
 
     public void setTwoRoomUnits(int twoRoomUnits) {
-        this.twoRoomUnits = twoRoomUnits;
+        publishUnits(FlatType.Two_Room, inventory.set(FlatType.Two_Room, twoRoomUnits));
     }
 
     public int getThreeRoomUnits() {
-        return threeRoomUnits;
+        return inventory.get(FlatType.Three_Room);
     }
 
     public void setThreeRoomUnits(int threeRoomUnits) {
-        this.threeRoomUnits = threeRoomUnits;
+        publishUnits(FlatType.Three_Room, inventory.set(FlatType.Three_Room, threeRoomUnits));
     }
 
     public LocalDate getApplicationOpeningDate() {
@@ -144,6 +350,7 @@ public class Project {
 
     public void setApplicationOpeningDate(LocalDate applicationOpeningDate) {
         this.applicationOpeningDate = Objects.requireNonNull(applicationOpeningDate);
+        DomainEvents.projectListingChanged(this);
     }
 
     public LocalDate getApplicationClosingDate() {
@@ -152,6 +359,7 @@ public class Project {
 
     public void setApplicationClosingDate(LocalDate applicationClosingDate) {
         this.applicationClosingDate = Objects.requireNonNull(applicationClosingDate);
+        DomainEvents.projectListingChanged(this);
     }
 
     public HDBManager getManagerInCharge() {
@@ -163,23 +371,32 @@ public class Project {
     }
 
     public int getAvailableOfficerSlots() {
-        return availableOfficerSlots;
+        return availableOfficerSlots.get();
     }
 
     public void setAvailableOfficerSlots(int availableOfficerSlots) {
-        this.availableOfficerSlots = availableOfficerSlots;
+        this.availableOfficerSlots.set(availableOfficerSlots);
     }
 
+    /*
+     * The child getters return read-only live views, not copies.  Iterating
+     * one walks the snapshot current when the iterator was created, so it
+     * never throws ConcurrentModificationException.
+     */
+
     public List<Enquiry> getEnquiries() {
-        return List.copyOf(enquiries);
+        ensureChildrenLoaded();
+        return Collections.unmodifiableList(enquiries);
     }
 
     public List<Application> getApplications() {
-        return List.copyOf(applications);
+        ensureChildrenLoaded();
+        return Collections.unmodifiableList(applications);
     }
 
     public List<OfficerRegistration> getOfficerRegistrations() {
-        return List.copyOf(officerRegistrations);
+        ensureChildrenLoaded();
+        return Collections.unmodifiableList(officerRegistrations);
     }
 
     @Override
@@ -187,7 +404,7 @@ public class Project {
         return String.format(
             "%s: %s [%s] 2-Room:%d 3-Room:%d Visible:%b Slots:%d",
             projectID, projectName, neighborhood,
-            twoRoomUnits, threeRoomUnits, visible, availableOfficerSlots
+            getTwoRoomUnits(), getThreeRoomUnits(), visible, getAvailableOfficerSlots()
         );
     }
 }
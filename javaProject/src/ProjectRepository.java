@@ -12,6 +12,15 @@ public interface ProjectRepository {
     /** Look up a project by its ID, or null if not found. */
     Project findById(String projectID);
 
-    /** Persist the given list of projects. */
-    void saveAll(List<Project> projects);
+    /** Load the applications, enquiries and officer registrations of the user with this NRIC into memory. */
+    void loadRecordsOf(String nric);
+
+    /** Load the applications of every project with a booked application into memory. */
+    void loadBookings();
+
+    /**
+     * Persist the given list of projects.
+     * @return true once every change is durably stored; false if writing failed
+     */
+    boolean saveAll(List<Project> projects);
 }
@@ -1,72 +1,108 @@
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.time.format.DateTimeFormatter;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.List;
-import java.util.stream.Collectors;
-
-import enums.ApplicationStatus;
+import java.util.function.BiPredicate;
+import java.util.zip.GZIPInputStream;
 
 /**
  * Generates a booking report of all successful flat bookings,
  * with optional filtering by applicant/project criteria.
+ *
+ * Every report goes to its own temp file, so concurrent sessions never
+ * overwrite each other's; a Report deletes its previous file when it
+ * generates the next one.
  */
 public class Report {
     private Filter filter;
-    private String reportContent;
+    private boolean compressed;
+    private File reportFile;
 
     /** Set the filter criteria to apply (or leave null for no extra filtering). */
     public void setFilters(Filter filter) {
         this.filter = filter;
     }
 
+    /** Write the report gzip-compressed ({@code .csv.gz}) instead of plain CSV. */
+    public void setCompressed(boolean compressed) {
+        this.compressed = compressed;
+    }
+
     /**
-     * Builds the report over the given applications, writes it to a CSV file,
-     * and returns the File handle.
+     * Streams the booked applications to a CSV file and returns the File
+     * handle.  Rows go straight to disk, so memory use does not depend on
+     * how many applications are booked.
      *
      * @param applications  all applications in the system
      * @return              a CSV file of the booked applications
      * @throws IOException  if writing the file fails
      */
     public File generateReport(List<Application> applications) throws IOException {
-        // 1) Filter to only BOOKED applications
-        List<Application> booked = applications.stream()
-            .filter(app -> app.getStatus() == ApplicationStatus.BOOKED)
-            .filter(app -> filter == null
-                || filter.matches(app.getApplicant(), app.getProject()))
-            .collect(Collectors.toList());
-
-        // 2) Build CSV text
-        DateTimeFormatter df = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        StringBuilder sb = new StringBuilder();
-        sb.append("ApplicantNRIC,Age,MaritalStatus,FlatType,ProjectID,ProjectName,BookingDate\n");
-        for (Application app : booked) {
-            sb.append(String.format(
-                "%s,%d,%s,%s,%s,%s,%s\n",
-                app.getApplicant().getNric(),
-                app.getApplicant().getAge(),
-                app.getApplicant().getMaritalStatus().name(),
-                app.getFlatTypeChosen().name(),
-                app.getProject().getProjectID(),
-                app.getProject().getProjectName(),
-                app.getApplicationDate().format(df)
-            ));
+        File file = newReportFile();
+        BiPredicate<Applicant, Project> matcher = filter == null ? null : filter.compile();
+        try (BookingReportWriter writer = new BookingReportWriter(file.toPath(), compressed)) {
+            for (Application app : applications) {
+                if (BookingReportWriter.isReportable(app, matcher)) {
+                    writer.write(app);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file.toPath());
+            throw e;
         }
-        reportContent = sb.toString();
+        replaceReportFile(file);
+        return file;
+    }
 
-        // 3) Write to file
-        File file = new File("booking_report.csv");
-        try (FileWriter writer = new FileWriter(file)) {
-            writer.write(reportContent);
+    /**
+     * Same report, built from each project's applications in parallel.
+     * Rows come out grouped by project, in the order of {@code projects}.
+     *
+     * @param projects      the projects to report on
+     * @return              a CSV file of the booked applications
+     * @throws IOException  if writing the file fails
+     */
+    public File generateReportForProjects(List<Project> projects) throws IOException {
+        File file = newReportFile();
+        try {
+            new ParallelReportEngine().generate(projects, filter, file.toPath(), compressed);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file.toPath());
+            throw e;
         }
+        replaceReportFile(file);
         return file;
     }
 
+    private File newReportFile() throws IOException {
+        return Files.createTempFile("booking_report", compressed ? ".csv.gz" : ".csv").toFile();
+    }
+
+    private void replaceReportFile(File file) {
+        File previous = reportFile;
+        reportFile = file;
+        if (previous != null && !previous.delete()) {
+            System.err.println("Could not delete old report file " + previous);
+        }
+    }
+
     /**
      * Returns the last-generated report as a CSV string,
      * or an empty string if none has been generated yet.
+     * The text is read back from the report file on each call.
      */
     public String getFormattedReport() {
-        return reportContent != null ? reportContent : "";
+        if (reportFile == null) {
+            return "";
+        }
+        try (InputStream in = Files.newInputStream(reportFile.toPath())) {
+            InputStream text = reportFile.getName().endsWith(".gz") ? new GZIPInputStream(in) : in;
+            return new String(text.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("Error reading report file: " + e.getMessage());
+            return "";
+        }
     }
 }
@@ -0,0 +1,71 @@
+// SessionLoadDriver.java
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loopback load generator for {@link SessionServer}.
+ *
+ * Each simulated client connects, logs in, logs out and exits, then
+ * waits for the server to close the connection.  Reports the number of
+ * completed sessions per second.
+ *
+ * Usage: java SessionLoadDriver port sessions concurrency nric password
+ */
+public class SessionLoadDriver {
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length < 5) {
+            System.out.println("Usage: java SessionLoadDriver port sessions concurrency nric password");
+            return;
+        }
+        int port        = Integer.parseInt(args[0]);
+        int sessions    = Integer.parseInt(args[1]);
+        int concurrency = Integer.parseInt(args[2]);
+        byte[] script   = ("1\n" + args[3] + "\n" + args[4] + "\n0\n0\n").getBytes(StandardCharsets.UTF_8);
+
+        AtomicInteger ok     = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < sessions; i++) {
+            clients.execute(() -> {
+                if (runSession(port, script)) {
+                    ok.incrementAndGet();
+                } else {
+                    failed.incrementAndGet();
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(1, TimeUnit.HOURS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%d sessions (%d failed) in %.2fs: %.0f sessions/s%n",
+            ok.get() + failed.get(), failed.get(), seconds, ok.get() / seconds);
+    }
+
+    /** @return true if the server logged us in and said goodbye. */
+    private static boolean runSession(int port, byte[] script) {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            OutputStream out = socket.getOutputStream();
+            out.write(script);
+            out.flush();
+            socket.shutdownOutput();
+
+            InputStream in = socket.getInputStream();
+            String transcript = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            return transcript.contains("Goodbye!") && !transcript.contains("Error:");
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+// SessionServer.java
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serves many concurrent CLI sessions over a loopback socket.
+ *
+ * Each accepted connection gets its own MainMenu (and, after login, the
+ * role menu) running on a dedicated session thread, reading from and
+ * writing to that connection.  All sessions share the same repositories
+ * and login handler.
+ *
+ * {@link #close()} disconnects every open session and returns only once
+ * all session threads have finished, so callers may save state after it.
+ */
+public class SessionServer implements Closeable {
+    private final ServerSocket serverSocket;
+    private final ExecutorService sessions;
+    private final LoginHandler auth;
+    private final UserRepository userRepo;
+    private final ProjectRepository projectRepo;
+    private final OfficerRegistrationRepository regRepo;
+
+    private final Set<Socket> openSockets = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final AtomicLong completedSessions = new AtomicLong();
+
+    /**
+     * @param port  loopback port to listen on (0 picks a free port)
+     */
+    public SessionServer(int port,
+                         LoginHandler auth,
+                         UserRepository userRepo,
+                         ProjectRepository projectRepo,
+                         OfficerRegistrationRepository regRepo) throws IOException {
+        this.serverSocket = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress());
+        this.auth         = auth;
+        this.userRepo     = userRepo;
+        this.projectRepo  = projectRepo;
+        this.regRepo      = regRepo;
+
+        AtomicInteger threadNo = new AtomicInteger();
+        this.sessions = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "session-" + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** @return the port actually bound. */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int getActiveSessions() {
+        return activeSessions.get();
+    }
+
+    public long getCompletedSessions() {
+        return completedSessions.get();
+    }
+
+    /** Accept connections until {@link #close()} is called. */
+    public void serve() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                openSockets.add(socket);
+                if (serverSocket.isClosed()) {
+                    // close() may have swept openSockets before this one was added
+                    closeQuietly(socket);
+                    return;
+                }
+                sessions.execute(() -> runSession(socket));
+            } catch (RejectedExecutionException e) {
+                // closing: the socket is swept by close()
+            } catch (SocketException e) {
+                // server socket closed: stop accepting
+            } catch (IOException e) {
+                System.err.println("Error accepting session: " + e.getMessage());
+            }
+        }
+    }
+
+    private void runSession(Socket socket) {
+        activeSessions.incrementAndGet();
+        try (socket) {
+            PrintStream out = new PrintStream(
+                new BufferedOutputStream(socket.getOutputStream()), false, StandardCharsets.UTF_8);
+            Scanner in = new Scanner(new FlushingInputStream(socket.getInputStream(), out), StandardCharsets.UTF_8);
+            // Every client of the loopback server shares one address; its port tells them apart.
+            String source = socket.getInetAddress().getHostAddress() + ":" + socket.getPort();
+            new MainMenu(auth, userRepo, projectRepo, regRepo, in, out, source).run();
+            out.flush();
+        } catch (IOException e) {
+            System.err.println("Session error: " + e.getMessage());
+        } finally {
+            openSockets.remove(socket);
+            activeSessions.decrementAndGet();
+            completedSessions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Stop accepting, disconnect every session, and wait for all session
+     * threads to finish.  A session in the middle of an action completes
+     * it; its next read then sees the closed connection and ends the menu.
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        sessions.shutdown();
+        for (Socket socket : openSockets) {
+            closeQuietly(socket);
+        }
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (sessions.awaitTermination(1, TimeUnit.SECONDS)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            System.err.println("Error closing session: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Flushes the session's buffered output before every blocking read,
+     * so prompts printed with print() reach the client before we wait
+     * for its answer.
+     */
+    private static final class FlushingInputStream extends FilterInputStream {
+        private final PrintStream out;
+
+        FlushingInputStream(InputStream in, PrintStream out) {
+            super(in);
+            this.out = out;
+        }
+
+        @Override
+        public int read() throws IOException {
+            out.flush();
+            return super.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            out.flush();
+            return super.read(b, off, len);
+        }
+    }
+}
@@ -9,7 +9,7 @@ import java.util.List;
  */
 public abstract class User {
     private String nric;
-    private String password;
+    private volatile String password;    // stored credential, see CredentialStore
     private int age;
     private MaritalStatus maritalStatus;
     private List<Enquiry> enquiries;
@@ -33,6 +33,7 @@ public abstract class User {
         this.nric = nric;
     }
 
+    /** @return the stored credential: a hash, or a not-yet-upgraded plaintext password. */
     public String getPassword() {
         return password;
     }
@@ -66,13 +67,26 @@ public abstract class User {
     }
 
     /**
-     * Change password if the old one matches.
+     * Change password if the old one matches; the new one is stored hashed.
      */
     public boolean changePassword(String oldPassword, String newPassword) {
-        if (this.password.equals(oldPassword)) {
-            this.password = newPassword;
-            return true;
+        CredentialStore credentials = CredentialStore.defaultStore();
+        String stored = this.password;
+        if (credentials.verify(oldPassword, stored)) {
+            return upgradePassword(stored, credentials.hash(newPassword));
         }
         return false;
     }
+
+    /**
+     * Replace the stored credential, unless it changed since {@code expected}
+     * was read (a concurrent login or password change got there first).
+     */
+    synchronized boolean upgradePassword(String expected, String replacement) {
+        if (!this.password.equals(expected)) {
+            return false;
+        }
+        this.password = replacement;
+        return true;
+    }
 }
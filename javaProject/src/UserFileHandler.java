@@ -3,8 +3,17 @@ import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.PrintWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import enums.MaritalStatus;
 
@@ -15,6 +24,11 @@ import enums.MaritalStatus;
  *    nric,password,age,maritalStatus,role
  */
 public class UserFileHandler {
+    /** Upper bound on a single mapped chunk; keeps every mapping well under 2 GB. */
+    private static final long MAX_CHUNK_BYTES = 64L * 1024 * 1024;
+    /** Files smaller than this are parsed as a single chunk. */
+    private static final long MIN_CHUNK_BYTES = 256L * 1024;
+
     private final String filePath;
 
     public UserFileHandler(String filePath) {
@@ -84,9 +98,294 @@ public class UserFileHandler {
         return users;
     }
 
+    /**
+     * Bulk-load mode for large user files.
+     *
+     * The file is memory-mapped in line-aligned chunks which are parsed in
+     * parallel on the common fork-join pool.  Each chunk is scanned byte by
+     * byte without splitting lines into String[] fields; only the NRIC and
+     * password strings of each user are allocated.  Bad rows are counted in
+     * the returned result instead of being logged one by one.
+     */
+    public UserLoadResult readUserDataParallel() {
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            long[] bounds = chunkBounds(channel);
+            ChunkResult result = ForkJoinPool.commonPool()
+                .invoke(new ChunkTask(channel, bounds, 0, bounds.length - 1));
+            UserLoadResult loaded = new UserLoadResult(
+                result.users, result.malformed, result.defaulted, result.invalidNric);
+            if (result.malformed > 0 || result.defaulted > 0 || result.invalidNric > 0) {
+                System.err.println("User data warnings: " + loaded);
+            }
+            System.out.println("Finished reading users. Count: " + result.users.size());
+            return loaded;
+        } catch (IOException e) {
+            System.err.println("Error reading user data file: " + e.getMessage());
+            return new UserLoadResult(new ArrayList<>(), 0, 0);
+        }
+    }
+
+    /**
+     * Splits the file into roughly equal chunks, moving each boundary forward
+     * to just past the next newline so no line straddles two chunks.
+     */
+    private static long[] chunkBounds(FileChannel channel) throws IOException {
+        long size = channel.size();
+        int parallelism = ForkJoinPool.commonPool().getParallelism();
+        long byCores = Math.min(parallelism * 4L, Math.max(1, size / MIN_CHUNK_BYTES));
+        long bySize  = (size + MAX_CHUNK_BYTES - 1) / MAX_CHUNK_BYTES;
+        int chunks = (int) Math.max(1, Math.max(byCores, bySize));
+
+        long[] bounds = new long[chunks + 1];
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        int n = 1;
+        for (int i = 1; i < chunks; i++) {
+            long pos = Math.max(size * i / chunks, bounds[n - 1]);
+            pos = nextLineStart(channel, pos, size, probe);
+            if (pos > bounds[n - 1] && pos < size) {
+                bounds[n++] = pos;
+            }
+        }
+        bounds[n++] = size;
+        long[] trimmed = new long[n];
+        System.arraycopy(bounds, 0, trimmed, 0, n);
+        return trimmed;
+    }
+
+    private static long nextLineStart(FileChannel channel, long pos, long size, ByteBuffer probe)
+            throws IOException {
+        while (pos < size) {
+            probe.clear();
+            int read = channel.read(probe, pos);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return pos + i + 1;
+                }
+            }
+            pos += read;
+        }
+        return size;
+    }
+
+    /** Per-chunk parse output; merged left to right to keep file order. */
+    private static final class ChunkResult {
+        final List<User> users;
+        int malformed;
+        int defaulted;
+        int invalidNric;
+
+        ChunkResult(List<User> users) {
+            this.users = users;
+        }
+    }
+
+    /** Divide-and-conquer over chunk indices [from, to). */
+    private static final class ChunkTask extends RecursiveTask<ChunkResult> {
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel channel;
+        private final long[] bounds;
+        private final int from;
+        private final int to;
+
+        ChunkTask(FileChannel channel, long[] bounds, int from, int to) {
+            this.channel = channel;
+            this.bounds  = bounds;
+            this.from    = from;
+            this.to      = to;
+        }
+
+        @Override
+        protected ChunkResult compute() {
+            if (to - from == 1) {
+                try {
+                    long start = bounds[from];
+                    MappedByteBuffer buf = channel.map(
+                        FileChannel.MapMode.READ_ONLY, start, bounds[to] - start);
+                    return new ChunkParser(buf).parse();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            int mid = (from + to) >>> 1;
+            ChunkTask left = new ChunkTask(channel, bounds, from, mid);
+            left.fork();
+            ChunkResult right = new ChunkTask(channel, bounds, mid, to).compute();
+            ChunkResult merged = left.join();
+            merged.users.addAll(right.users);
+            merged.malformed += right.malformed;
+            merged.defaulted += right.defaulted;
+            merged.invalidNric += right.invalidNric;
+            return merged;
+        }
+    }
+
+    /**
+     * Byte-level CSV row parser for one mapped chunk.
+     * Field positions live in reusable int arrays, so rows are parsed
+     * without intermediate String or String[] allocations.
+     */
+    private static final class ChunkParser {
+        private static final int FIELDS = 5;
+
+        private final ByteBuffer buf;
+        private final int[] starts = new int[FIELDS];
+        private final int[] ends   = new int[FIELDS];
+        private byte[] scratch     = new byte[64];
+
+        ChunkParser(ByteBuffer buf) {
+            this.buf = buf;
+        }
+
+        ChunkResult parse() {
+            ChunkResult result = new ChunkResult(new ArrayList<>(buf.limit() / 40 + 1));
+            int limit = buf.limit();
+            int lineStart = 0;
+            while (lineStart < limit) {
+                int lineEnd = lineStart;
+                while (lineEnd < limit && buf.get(lineEnd) != '\n') {
+                    lineEnd++;
+                }
+                parseLine(lineStart, lineEnd, result);
+                lineStart = lineEnd + 1;
+            }
+            return result;
+        }
+
+        private void parseLine(int from, int to, ChunkResult result) {
+            from = skipSpace(from, to);
+            to   = trimEnd(from, to);
+            if (from == to || buf.get(from) == '#' || startsWithIgnoreCase(from, to, "nric,")) {
+                return;
+            }
+
+            int field = 0;
+            int fieldStart = from;
+            for (int i = from; i <= to && field < FIELDS; i++) {
+                if (i == to || buf.get(i) == ',') {
+                    starts[field] = skipSpace(fieldStart, i);
+                    ends[field]   = trimEnd(starts[field], i);
+                    field++;
+                    fieldStart = i + 1;
+                }
+            }
+            if (field < FIELDS) {
+                result.malformed++;
+                return;
+            }
+
+            int age = parseAge(starts[2], ends[2]);
+            if (age < 0) {
+                result.malformed++;
+                return;
+            }
+            MaritalStatus ms;
+            if (equalsIgnoreCase(starts[3], ends[3], "SINGLE")) {
+                ms = MaritalStatus.SINGLE;
+            } else if (equalsIgnoreCase(starts[3], ends[3], "MARRIED")) {
+                ms = MaritalStatus.MARRIED;
+            } else {
+                ms = MaritalStatus.SINGLE;
+                result.defaulted++;
+            }
+
+            if (!NricValidator.FORMAT.isValid(buf, starts[0], ends[0])) {
+                result.invalidNric++;
+            }
+            String nric = string(starts[0], ends[0]);
+            String pwd  = string(starts[1], ends[1]);
+            User user;
+            if (equals(starts[4], ends[4], "Manager")) {
+                user = new HDBManager(nric, pwd, age, ms);
+            } else if (equals(starts[4], ends[4], "Officer")) {
+                user = new HDBOfficer(nric, pwd, age, ms);
+            } else {
+                user = new Applicant(nric, pwd, age, ms);
+            }
+            result.users.add(user);
+        }
+
+        /** @return the parsed age, or -1 if the field is empty or not all digits. */
+        private int parseAge(int from, int to) {
+            if (from == to || to - from > 3) {
+                return -1;
+            }
+            int value = 0;
+            for (int i = from; i < to; i++) {
+                int d = buf.get(i) - '0';
+                if (d < 0 || d > 9) {
+                    return -1;
+                }
+                value = value * 10 + d;
+            }
+            return value;
+        }
+
+        private String string(int from, int to) {
+            int len = to - from;
+            if (scratch.length < len) {
+                scratch = new byte[Math.max(len, scratch.length * 2)];
+            }
+            buf.get(from, scratch, 0, len);
+            return new String(scratch, 0, len, StandardCharsets.UTF_8);
+        }
+
+        private int skipSpace(int from, int to) {
+            while (from < to && isSpace(buf.get(from))) {
+                from++;
+            }
+            return from;
+        }
+
+        private int trimEnd(int from, int to) {
+            while (to > from && isSpace(buf.get(to - 1))) {
+                to--;
+            }
+            return to;
+        }
+
+        private static boolean isSpace(byte b) {
+            return b == ' ' || b == '\t' || b == '\r';
+        }
+
+        private boolean equals(int from, int to, String s) {
+            if (to - from != s.length()) {
+                return false;
+            }
+            for (int i = 0; i < s.length(); i++) {
+                if (buf.get(from + i) != s.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean equalsIgnoreCase(int from, int to, String upper) {
+            return to - from == upper.length() && startsWithIgnoreCase(from, to, upper);
+        }
+
+        private boolean startsWithIgnoreCase(int from, int to, String s) {
+            if (to - from < s.length()) {
+                return false;
+            }
+            for (int i = 0; i < s.length(); i++) {
+                int b = buf.get(from + i);
+                if (Character.toLowerCase(b) != Character.toLowerCase(s.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     /**
      * Writes the given list of users back to the CSV file.
      * Each line is: nric,password,age,maritalStatus,role
+     * Credentials are written as stored; legacy plaintext passwords are
+     * hashed at login or by {@link #hashLegacyPasswords}.
      */
     public void writeUserData(List<User> users) {
         try (PrintWriter writer = new PrintWriter(new FileWriter(filePath))) {
@@ -108,4 +407,20 @@ public class UserFileHandler {
             System.err.println("Error writing user data file: " + e.getMessage());
         }
     }
+
+    /**
+     * One-off migration: hash every legacy plaintext password, running the
+     * key derivations on all cores.
+     * @return the number of passwords hashed
+     */
+    public static int hashLegacyPasswords(List<User> users) {
+        CredentialStore credentials = CredentialStore.defaultStore();
+        return (int) users.parallelStream()
+            .filter(u -> {
+                String stored = u.getPassword();
+                return !credentials.isHashed(stored)
+                    && u.upgradePassword(stored, credentials.hash(stored));
+            })
+            .count();
+    }
 }
@@ -0,0 +1,55 @@
+// UserLoadResult.java
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk user load: the parsed users (in file order) plus
+ * counters for rows that were skipped or repaired along the way.
+ */
+public class UserLoadResult {
+    private final List<User> users;
+    private final int malformedRows;
+    private final int defaultedMaritalStatus;
+    private final int invalidNrics;
+
+    public UserLoadResult(List<User> users, int malformedRows, int defaultedMaritalStatus) {
+        this(users, malformedRows, defaultedMaritalStatus, 0);
+    }
+
+    public UserLoadResult(List<User> users, int malformedRows, int defaultedMaritalStatus,
+                          int invalidNrics) {
+        this.users                  = users;
+        this.malformedRows          = malformedRows;
+        this.defaultedMaritalStatus = defaultedMaritalStatus;
+        this.invalidNrics           = invalidNrics;
+    }
+
+    /** @return all successfully parsed users, in file order. */
+    public List<User> getUsers() {
+        return users;
+    }
+
+    /** @return rows skipped because of missing columns or a bad age. */
+    public int getMalformedRows() {
+        return malformedRows;
+    }
+
+    /** @return rows whose unknown marital status was defaulted to SINGLE. */
+    public int getDefaultedMaritalStatus() {
+        return defaultedMaritalStatus;
+    }
+
+    /**
+     * @return loaded users whose NRIC is not well-formed; they are kept
+     *         (so a save does not drop them) but can never log in.
+     */
+    public int getInvalidNrics() {
+        return invalidNrics;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Loaded %d users (%d malformed, %d defaulted marital status, %d invalid NRIC)",
+            users.size(), malformedRows, defaultedMaritalStatus, invalidNrics);
+    }
+}
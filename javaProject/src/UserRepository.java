@@ -1,5 +1,7 @@
 // UserRepository.java
 
+import enums.MaritalStatus;
+
 import java.util.List;
 
 /**
@@ -9,10 +11,15 @@ public interface UserRepository {
     /** Find a user by NRIC, or return null if not found. */
     User findByNric(String nric);
 
+    /** Return all users whose concrete class is the given role (e.g. HDBOfficer.class). */
+    List<User> findByRole(Class<? extends User> role);
+
+    /** Return all users with the given marital status. */
+    List<User> findByMaritalStatus(MaritalStatus maritalStatus);
+
     /** Return all users currently loaded. */
     List<User> findAll();
 
     /** Persist the given list of users back to storage. */
     void saveAll(List<User> users);
 }
-
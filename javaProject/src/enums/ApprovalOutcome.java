@@ -0,0 +1,13 @@
+package enums;
+
+// enums/ApprovalOutcome.java
+
+/** What a batch approval did with one application. */
+public enum ApprovalOutcome {
+    SUCCESSFUL,
+    UNSUCCESSFUL,
+    LEFT_PENDING,
+    NOT_PENDING,
+    NOT_FOUND,
+    UNAUTHORIZED
+}
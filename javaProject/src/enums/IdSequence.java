@@ -0,0 +1,10 @@
+package enums;
+
+// enums/IdSequence.java
+
+/** The independently numbered kinds of record handed out by IdAllocator. */
+public enum IdSequence {
+    ENQUIRY,
+    REGISTRATION,
+    APPLICATION
+}